@@ -0,0 +1,141 @@
+package io.github.h3yzack.vivid4jlog;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.event.DefaultLoggingEvent;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.event.Level;
+import org.slf4j.event.LoggingEvent;
+import org.slf4j.helpers.AbstractLogger;
+import org.slf4j.spi.CallerBoundaryAware;
+import org.slf4j.spi.LocationAwareLogger;
+import org.slf4j.spi.LoggingEventAware;
+import org.slf4j.spi.LoggingEventBuilder;
+
+/**
+ * SLF4J logger used by child {@link Vivid4jLogger}s that attaches the bound context
+ * to every event as key-value pairs, for sinks that emit structured output.
+ *
+ * @author Zuhaimi A.
+ */
+final class BoundContextLogger extends AbstractLogger implements LocationAwareLogger, LoggingEventAware {
+
+    private static final long serialVersionUID = 1L;
+    // direct SLF4J calls enter through the methods this class inherits from AbstractLogger;
+    // calls from Vivid4jLogger and LogBatch bring their own boundary
+    private static final String FQCN = AbstractLogger.class.getName();
+
+    private final transient Logger delegate;
+    private final transient List<KeyValuePair> keyValues;
+
+    BoundContextLogger(Logger delegate, List<KeyValuePair> keyValues) {
+        this.name = delegate.getName();
+        this.delegate = delegate;
+        this.keyValues = keyValues;
+    }
+
+    @Override
+    protected String getFullyQualifiedCallerName() {
+        return FQCN;
+    }
+
+    @Override
+    protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern,
+            Object[] arguments, Throwable throwable) {
+        log(FQCN, level, marker == null ? List.of() : List.of(marker), List.of(), messagePattern, arguments, throwable);
+    }
+
+    @Override
+    public void log(Marker marker, String fqcn, int level, String message, Object[] argArray, Throwable t) {
+        Level slf4jLevel = Level.intToLevel(level);
+        // with the marker, so SUCCESS/COMPLETED thresholds apply as on the parent
+        if (isEnabled(slf4jLevel, marker)) {
+            log(fqcn, slf4jLevel, marker == null ? List.of() : List.of(marker), List.of(), message, argArray, t);
+        }
+    }
+
+    @Override
+    public void log(LoggingEvent event) {
+        // from the fluent API; the builder checked the level and set its caller boundary
+        log(event.getCallerBoundary(), event.getLevel(), event.getMarkers(), event.getKeyValuePairs(),
+                event.getMessage(), event.getArgumentArray(), event.getThrowable());
+    }
+
+    private boolean isEnabled(Level level, Marker marker) {
+        return switch (level) {
+            case TRACE -> isTraceEnabled(marker);
+            case DEBUG -> isDebugEnabled(marker);
+            case INFO -> isInfoEnabled(marker);
+            case WARN -> isWarnEnabled(marker);
+            case ERROR -> isErrorEnabled(marker);
+        };
+    }
+
+    private void log(String fqcn, Level level, List<Marker> markers, List<KeyValuePair> eventKeyValues,
+            String messagePattern, Object[] arguments, Throwable throwable) {
+        DefaultLoggingEvent event = new DefaultLoggingEvent(level, delegate);
+        event.setCallerBoundary(fqcn);
+        if (markers != null) {
+            markers.forEach(event::addMarker);
+        }
+        for (KeyValuePair pair : keyValues) {
+            event.addKeyValue(pair.key, pair.value);
+        }
+        if (eventKeyValues != null) {
+            for (KeyValuePair pair : eventKeyValues) {
+                event.addKeyValue(pair.key, pair.value);
+            }
+        }
+        event.setMessage(messagePattern);
+        if (arguments != null) {
+            event.addArguments(arguments);
+        }
+        event.setThrowable(throwable);
+        if (delegate instanceof LoggingEventAware) {
+            // handed over directly, so no builder frames end up between the boundary and the caller
+            ((LoggingEventAware) delegate).log(event);
+            return;
+        }
+        LoggingEventBuilder builder = delegate.makeLoggingEventBuilder(level);
+        if (builder instanceof CallerBoundaryAware) {
+            ((CallerBoundaryAware) builder).setCallerBoundary(fqcn);
+        }
+        if (event.getMarkers() != null) {
+            event.getMarkers().forEach(builder::addMarker);
+        }
+        if (event.getKeyValuePairs() != null) {
+            event.getKeyValuePairs().forEach(pair -> builder.addKeyValue(pair.key, pair.value));
+        }
+        builder.setMessage(messagePattern);
+        if (arguments != null) {
+            for (Object argument : arguments) {
+                builder.addArgument(argument);
+            }
+        }
+        builder.setCause(throwable);
+        builder.log();
+    }
+
+    @Override
+    public boolean isTraceEnabled() { return delegate.isTraceEnabled(); }
+    @Override
+    public boolean isTraceEnabled(Marker marker) { return delegate.isTraceEnabled(marker); }
+    @Override
+    public boolean isDebugEnabled() { return delegate.isDebugEnabled(); }
+    @Override
+    public boolean isDebugEnabled(Marker marker) { return delegate.isDebugEnabled(marker); }
+    @Override
+    public boolean isInfoEnabled() { return delegate.isInfoEnabled(); }
+    @Override
+    public boolean isInfoEnabled(Marker marker) { return delegate.isInfoEnabled(marker); }
+    @Override
+    public boolean isWarnEnabled() { return delegate.isWarnEnabled(); }
+    @Override
+    public boolean isWarnEnabled(Marker marker) { return delegate.isWarnEnabled(marker); }
+    @Override
+    public boolean isErrorEnabled() { return delegate.isErrorEnabled(); }
+    @Override
+    public boolean isErrorEnabled(Marker marker) { return delegate.isErrorEnabled(marker); }
+}
@@ -0,0 +1,137 @@
+package io.github.h3yzack.vivid4jlog;
+
+import io.github.h3yzack.vivid4jlog.format.MessageFormatter;
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+
+/**
+ * Collects several decorated lines and logs them as a single event.
+ * The whole block costs one downstream append and one write, and lines from other
+ * threads cannot be interleaved with it.
+ * Usage:
+ * <pre>
+ *     logger.batch(VividLevel.INFO)
+ *           .line("Report for {}", day)
+ *           .line("orders: {}", orders)
+ *           .line("revenue: {}", revenue)
+ *           .emit();
+ * </pre>
+ * A batch is not thread-safe and is meant to be built and emitted by one thread.
+ * Batches for disabled levels ignore all lines without formatting them.
+ *
+ * @author Zuhaimi A.
+ */
+public class LogBatch {
+
+    /** Batch returned for disabled levels; ignores everything. */
+    static final LogBatch DISABLED = new LogBatch(null, null, null);
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    // the batch is emitted by its owner, so the caller sits right above LogBatch
+    private static final String FQCN = LogBatch.class.getName();
+
+    private final Vivid4jLogger logger;
+    private final VividLevel level;
+    private final MessageFormatter formatter;
+    private final StringBuilder buffer;
+    private int lines;
+
+    LogBatch(Vivid4jLogger logger, VividLevel level, MessageFormatter formatter) {
+        this.logger = logger;
+        this.level = level;
+        this.formatter = formatter;
+        this.buffer = logger == null ? null : new StringBuilder(256);
+    }
+
+    /**
+     * Adds a decorated line.
+     *
+     * @param msg the line
+     * @return this batch
+     */
+    public LogBatch line(String msg) {
+        if (buffer != null) {
+            append(msg);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a decorated line with one argument substituted for {@code {}}.
+     *
+     * @param format the line format
+     * @param arg the argument
+     * @return this batch
+     */
+    public LogBatch line(String format, Object arg) {
+        if (buffer != null) {
+            append(org.slf4j.helpers.MessageFormatter.format(format, arg).getMessage());
+        }
+        return this;
+    }
+
+    /**
+     * Adds a decorated line with two arguments substituted for {@code {}}.
+     *
+     * @param format the line format
+     * @param arg1 the first argument
+     * @param arg2 the second argument
+     * @return this batch
+     */
+    public LogBatch line(String format, Object arg1, Object arg2) {
+        if (buffer != null) {
+            append(org.slf4j.helpers.MessageFormatter.format(format, arg1, arg2).getMessage());
+        }
+        return this;
+    }
+
+    /**
+     * Adds a decorated line with arguments substituted for {@code {}}.
+     *
+     * @param format the line format
+     * @param arguments the arguments
+     * @return this batch
+     */
+    public LogBatch line(String format, Object... arguments) {
+        if (buffer != null) {
+            append(org.slf4j.helpers.MessageFormatter.basicArrayFormat(format, arguments));
+        }
+        return this;
+    }
+
+    /**
+     * Gets the number of lines added so far.
+     *
+     * @return the line count
+     */
+    public int size() {
+        return lines;
+    }
+
+    /**
+     * Logs all lines as one event. Does nothing if no lines were added.
+     */
+    public void emit() {
+        emit(null);
+    }
+
+    /**
+     * Logs all lines as one event with an exception attached.
+     *
+     * @param t the exception to log, may be null
+     */
+    public void emit(Throwable t) {
+        if (buffer == null || lines == 0) {
+            return;
+        }
+        logger.logBlock(FQCN, level, buffer.toString(), t);
+        buffer.setLength(0);
+        lines = 0;
+    }
+
+    private void append(String line) {
+        if (lines++ > 0) {
+            buffer.append(LINE_SEPARATOR);
+        }
+        formatter.formatTo(buffer, level.name(), line);
+    }
+}
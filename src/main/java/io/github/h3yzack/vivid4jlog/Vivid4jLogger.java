@@ -1,13 +1,29 @@
 package io.github.h3yzack.vivid4jlog;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
-import org.slf4j.MarkerFactory;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.spi.LocationAwareLogger;
+
+import ch.qos.logback.core.spi.FilterReply;
 
 import io.github.h3yzack.vivid4jlog.config.LoggerConfigWrapper;
 import io.github.h3yzack.vivid4jlog.config.Vivid4jLogConfig;
 import io.github.h3yzack.vivid4jlog.format.MessageFormatter;
+import io.github.h3yzack.vivid4jlog.format.MessageLimits;
+import io.github.h3yzack.vivid4jlog.format.TemplateCache;
+import io.github.h3yzack.vivid4jlog.jfr.JfrEvents;
+import io.github.h3yzack.vivid4jlog.level.CustomLevelThresholds;
+import io.github.h3yzack.vivid4jlog.level.Vivid4jLevelTurboFilter;
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+import io.github.h3yzack.vivid4jlog.slf4j.Vivid4jServiceProvider;
+import io.github.h3yzack.vivid4jlog.slf4j.Vivid4jSlf4jLogger;
 import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
 
 /**
@@ -33,6 +49,12 @@ import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
  *     logger.celebrate("We did it!");
  *     logger.thinking("Hmm, let me think...");
  * </pre>
+ * Child loggers carry bound context, rendered once into the decoration and also
+ * attached to every event as SLF4J key-value pairs:
+ * <pre>
+ *     Vivid4jLogger jobLog = logger.with("job", jobId).with("tenant", tenant);
+ *     jobLog.info("Started");   // " ✅ [job=42 tenant=acme] Started"
+ * </pre>
  * Configuration options are available via LoggerConfigWrapper:
  * <pre>
  *     logger.getConfig().setColorEnabled(true);
@@ -47,26 +69,104 @@ import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
 public class Vivid4jLogger {
 
     private final Logger logger;
-    private EmojiTheme currentTheme;
     private final LoggerConfigWrapper config;
-    private final MessageFormatter formatter;
+    // Immutable snapshot of theme and config; replaced as a whole, never modified, and pushed
+    // here on every config change, so logging reads it with a single volatile load
+    private volatile MessageFormatter formatter;
+    // the theme asked for; the snapshot may render another one, e.g. in MINIMAL output mode
+    private volatile EmojiTheme theme;
+    private final CustomLevelThresholds thresholds;
+    private final TemplateCache templateCache;
+
+    // Bound context of child loggers; root is null for loggers created by the factory methods
+    private final Vivid4jLogger root;
+    private final String context;
+    private final List<KeyValuePair> keyValues;
+
+    // Cached SUCCESS/COMPLETED decisions, packed as (thresholds version << 2) | reply code
+    private volatile int successDecision;
+    private volatile int completedDecision;
+
+    private static final int VERSION_MASK = 0x3FFFFFFF;
+    private static final int ACCEPT = 1;
+    private static final int DENY = 2;
+    private static final int NEUTRAL = 3;
+
+    // Caller boundary: frames up to the last Vivid4jLogger frame are skipped when locating the caller
+    private static final String FQCN = Vivid4jLogger.class.getName();
 
     // Custom markers for SUCCESS and COMPLETED levels
-    private static final Marker SUCCESS_MARKER = MarkerFactory.getMarker("SUCCESS");
-    private static final Marker COMPLETED_MARKER = MarkerFactory.getMarker("COMPLETED");
+    private static final Marker SUCCESS_MARKER = VividLevel.SUCCESS.getMarker();
+    private static final Marker COMPLETED_MARKER = VividLevel.COMPLETED.getMarker();
 
     private Vivid4jLogger(Class<?> clazz) {
-        this.logger = LoggerFactory.getLogger(clazz);
-        this.config = new LoggerConfigWrapper(Vivid4jLogConfig.getInstance());
-        this.currentTheme = config.getDefaultTheme();
-        this.formatter = new MessageFormatter(currentTheme, config);
+        this.logger = undecorated(LoggerFactory.getLogger(clazz));
+        this.theme = Vivid4jLogConfig.getInstance().getDefaultTheme();
+        this.config = new LoggerConfigWrapper(Vivid4jLogConfig.getInstance(), this::rebuildFormatter);
+        this.formatter = new MessageFormatter(theme, config);
+        catchUp();
+        this.thresholds = Vivid4jLogConfig.getInstance().getCustomLevelThresholds();
+        this.templateCache = Vivid4jLogConfig.getInstance().getTemplateCache();
+        this.root = null;
+        this.context = null;
+        this.keyValues = Collections.emptyList();
+        installLevelFilter();
     }
     
     private Vivid4jLogger(Class<?> clazz, EmojiTheme theme) {
-        this.logger = LoggerFactory.getLogger(clazz);
-        this.config = new LoggerConfigWrapper(Vivid4jLogConfig.getInstance());
-        this.currentTheme = theme;
-        this.formatter = new MessageFormatter(currentTheme, config);
+        this.logger = undecorated(LoggerFactory.getLogger(clazz));
+        this.theme = theme;
+        this.config = new LoggerConfigWrapper(Vivid4jLogConfig.getInstance(), this::rebuildFormatter);
+        this.formatter = new MessageFormatter(theme, config);
+        catchUp();
+        this.thresholds = Vivid4jLogConfig.getInstance().getCustomLevelThresholds();
+        this.templateCache = Vivid4jLogConfig.getInstance().getTemplateCache();
+        this.root = null;
+        this.context = null;
+        this.keyValues = Collections.emptyList();
+        installLevelFilter();
+    }
+
+    private Vivid4jLogger(Vivid4jLogger parent, String key, Object value) {
+        this.root = parent.root != null ? parent.root : parent;
+        List<KeyValuePair> pairs = new ArrayList<>(parent.keyValues.size() + 1);
+        pairs.addAll(parent.keyValues);
+        pairs.add(new KeyValuePair(key, value));
+        this.keyValues = Collections.unmodifiableList(pairs);
+        this.context = renderContext(keyValues);
+        this.logger = new BoundContextLogger(root.logger, keyValues);
+        this.config = root.config;
+        this.thresholds = root.thresholds;
+        this.templateCache = root.templateCache;
+        // the decorated snapshot is built on first use, so children that never log cost nothing more
+    }
+
+    private static String renderContext(List<KeyValuePair> pairs) {
+        StringBuilder text = new StringBuilder("[");
+        for (KeyValuePair pair : pairs) {
+            if (text.length() > 1) {
+                text.append(' ');
+            }
+            text.append(pair.key).append('=').append(pair.value);
+        }
+        return text.append("] ").toString();
+    }
+
+    /**
+     * Avoids decorating twice when SLF4J is bound to {@link Vivid4jServiceProvider}.
+     */
+    private static Logger undecorated(Logger logger) {
+        return logger instanceof Vivid4jSlf4jLogger ? ((Vivid4jSlf4jLogger) logger).getDelegate() : logger;
+    }
+
+    /**
+     * Makes sure SUCCESS/COMPLETED thresholds are enforced by Logback, which would otherwise
+     * drop custom level events whenever INFO is disabled.
+     */
+    private void installLevelFilter() {
+        if (!thresholds.isEmpty() && logger instanceof ch.qos.logback.classic.Logger) {
+            Vivid4jLevelTurboFilter.installIfAbsent(((ch.qos.logback.classic.Logger) logger).getLoggerContext(), thresholds);
+        }
     }
 
     /**
@@ -115,8 +215,12 @@ public class Vivid4jLogger {
         }
     }
     
-    private String formatMessage(String level, String msg) {
-        return formatter.format(level, msg);
+    private String formatTemplate(VividLevel level, String format) {
+        if (root != null) {
+            // per-request children would only churn the shared cache
+            return formatter().format(level, format);
+        }
+        return templateCache.decorate(formatter(), level, format);
     }
     
     /**
@@ -126,92 +230,321 @@ public class Vivid4jLogger {
      * @return The formatted message
      */
     public String format(String level, String msg) {
-        return formatter.format(level, msg);
+        return formatter().format(level, msg);
+    }
+
+    /**
+     * Returns the current formatter snapshot. Config changes push a new one, see {@link #rebuildFormatter()}.
+     */
+    private MessageFormatter formatter() {
+        MessageFormatter current = formatter;
+        if (root != null) {
+            // follow the parent's theme and config, keeping this logger's context
+            MessageFormatter base = root.formatter();
+            if (current == null || current.getBase() != base) {
+                current = base.withContext(context);
+                formatter = current;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Rebuilds the snapshot from the current theme and config; called by the config wrapper
+     * after every change. Writers are serialized so a concurrent theme change cannot be lost;
+     * readers never lock.
+     */
+    private synchronized void rebuildFormatter() {
+        if (formatter == null) {
+            // still being constructed; catchUp() sees the change
+            return;
+        }
+        formatter = new MessageFormatter(theme, config);
+    }
+
+    /**
+     * Rebuilds the snapshot if the config changed while it was first built, before changes were pushed to it.
+     */
+    private void catchUp() {
+        if (formatter.getConfigVersion() != config.getVersion()) {
+            rebuildFormatter();
+        }
+    }
+
+    // --- Level Checks ---
+    /**
+     * Checks if the SUCCESS level is enabled for this logger.
+     * Uses the SUCCESS threshold for this logger's name if one is configured, otherwise INFO.
+     * 
+     * @return true if SUCCESS messages will be logged
+     */
+    public boolean isSuccessEnabled() {
+        return isCustomLevelEnabled(VividLevel.SUCCESS);
+    }
+
+    /**
+     * Checks if the COMPLETED level is enabled for this logger.
+     * Uses the COMPLETED threshold for this logger's name if one is configured, otherwise INFO.
+     * 
+     * @return true if COMPLETED messages will be logged
+     */
+    public boolean isCompletedEnabled() {
+        return isCustomLevelEnabled(VividLevel.COMPLETED);
+    }
+
+    /**
+     * Checks if a level is enabled for this logger.
+     * 
+     * @param level the level to check
+     * @return true if messages at this level will be logged
+     */
+    public boolean isEnabled(VividLevel level) {
+        return switch (level) {
+            case TRACE -> logger.isTraceEnabled();
+            case DEBUG -> logger.isDebugEnabled();
+            case INFO -> logger.isInfoEnabled();
+            case WARN -> logger.isWarnEnabled();
+            case ERROR -> logger.isErrorEnabled();
+            case SUCCESS, COMPLETED -> isCustomLevelEnabled(level);
+        };
+    }
+
+    private boolean isCustomLevelEnabled(VividLevel level) {
+        int version = thresholds.version() & VERSION_MASK;
+        int cached = level == VividLevel.SUCCESS ? successDecision : completedDecision;
+        if ((cached & 3) == 0 || (cached >>> 2) != version) {
+            cached = (version << 2) | replyCode(thresholds.decide(level, logger.getName()));
+            if (level == VividLevel.SUCCESS) {
+                successDecision = cached;
+            } else {
+                completedDecision = cached;
+            }
+            // thresholds may have been added after this logger was created
+            installLevelFilter();
+        }
+        return switch (cached & 3) {
+            case ACCEPT -> true;
+            case DENY -> false;
+            default -> logger.isInfoEnabled(level.getMarker());
+        };
+    }
+
+    private static int replyCode(FilterReply reply) {
+        return switch (reply) {
+            case ACCEPT -> ACCEPT;
+            case DENY -> DENY;
+            case NEUTRAL -> NEUTRAL;
+        };
     }
 
     // --- TRACE ---
     /** Logs a message at TRACE level. */
-    public void trace(String msg) { logger.trace(formatMessage("TRACE", msg)); }
+    public void trace(String msg) { if (logger.isTraceEnabled()) log(VividLevel.TRACE, msg); }
     /** Logs a formatted message at TRACE level. */
-    public void trace(String format, Object arg) { logger.trace(formatMessage("TRACE", format), arg); }
+    public void trace(String format, Object arg) { if (logger.isTraceEnabled()) log(VividLevel.TRACE, format, arg); }
     /** Logs a formatted message at TRACE level. */
-    public void trace(String format, Object arg1, Object arg2) { logger.trace(formatMessage("TRACE", format), arg1, arg2); }
+    public void trace(String format, Object arg1, Object arg2) { if (logger.isTraceEnabled()) log(VividLevel.TRACE, format, arg1, arg2); }
     /** Logs a formatted message at TRACE level. */
-    public void trace(String format, Object... arguments) { logger.trace(formatMessage("TRACE", format), arguments); }
+    public void trace(String format, Object... arguments) { if (logger.isTraceEnabled()) log(VividLevel.TRACE, format, arguments); }
     /** Logs a message with exception at TRACE level. */
-    public void trace(String msg, Throwable t) { logger.trace(formatMessage("TRACE", msg), t); }
+    public void trace(String msg, Throwable t) { if (logger.isTraceEnabled()) log(VividLevel.TRACE, msg, t); }
 
     // --- DEBUG ---
     /** Logs a message at DEBUG level. */
-    public void debug(String msg) { logger.debug(formatMessage("DEBUG", msg)); }
+    public void debug(String msg) { if (logger.isDebugEnabled()) log(VividLevel.DEBUG, msg); }
     /** Logs a formatted message at DEBUG level. */
-    public void debug(String format, Object arg) { logger.debug(formatMessage("DEBUG", format), arg); }
+    public void debug(String format, Object arg) { if (logger.isDebugEnabled()) log(VividLevel.DEBUG, format, arg); }
     /** Logs a formatted message at DEBUG level. */
-    public void debug(String format, Object arg1, Object arg2) { logger.debug(formatMessage("DEBUG", format), arg1, arg2); }
+    public void debug(String format, Object arg1, Object arg2) { if (logger.isDebugEnabled()) log(VividLevel.DEBUG, format, arg1, arg2); }
     /** Logs a formatted message at DEBUG level. */
-    public void debug(String format, Object... arguments) { logger.debug(formatMessage("DEBUG", format), arguments); }
+    public void debug(String format, Object... arguments) { if (logger.isDebugEnabled()) log(VividLevel.DEBUG, format, arguments); }
     /** Logs a message with exception at DEBUG level. */
-    public void debug(String msg, Throwable t) { logger.debug(formatMessage("DEBUG", msg), t); }
+    public void debug(String msg, Throwable t) { if (logger.isDebugEnabled()) log(VividLevel.DEBUG, msg, t); }
 
     // --- INFO ---
     /** Logs a message at INFO level. */
-    public void info(String msg) { logger.info(formatMessage("INFO", msg)); }
+    public void info(String msg) { if (logger.isInfoEnabled()) log(VividLevel.INFO, msg); }
     /** Logs a formatted message at INFO level. */
-    public void info(String format, Object arg) { logger.info(formatMessage("INFO", format), arg); }
+    public void info(String format, Object arg) { if (logger.isInfoEnabled()) log(VividLevel.INFO, format, arg); }
     /** Logs a formatted message at INFO level. */
-    public void info(String format, Object arg1, Object arg2) { logger.info(formatMessage("INFO", format), arg1, arg2); }
+    public void info(String format, Object arg1, Object arg2) { if (logger.isInfoEnabled()) log(VividLevel.INFO, format, arg1, arg2); }
     /** Logs a formatted message at INFO level. */
-    public void info(String format, Object... arguments) { logger.info(formatMessage("INFO", format), arguments); }
+    public void info(String format, Object... arguments) { if (logger.isInfoEnabled()) log(VividLevel.INFO, format, arguments); }
     /** Logs a message with exception at INFO level. */
-    public void info(String msg, Throwable t) { logger.info(formatMessage("INFO", msg), t); }
+    public void info(String msg, Throwable t) { if (logger.isInfoEnabled()) log(VividLevel.INFO, msg, t); }
 
     // --- WARN ---
     /** Logs a message at WARN level. */
-    public void warn(String msg) { logger.warn(formatMessage("WARN", msg)); }
+    public void warn(String msg) { if (logger.isWarnEnabled()) log(VividLevel.WARN, msg); }
     /** Logs a formatted message at WARN level. */
-    public void warn(String format, Object arg) { logger.warn(formatMessage("WARN", format), arg); }
+    public void warn(String format, Object arg) { if (logger.isWarnEnabled()) log(VividLevel.WARN, format, arg); }
     /** Logs a formatted message at WARN level. */
-    public void warn(String format, Object arg1, Object arg2) { logger.warn(formatMessage("WARN", format), arg1, arg2); }
+    public void warn(String format, Object arg1, Object arg2) { if (logger.isWarnEnabled()) log(VividLevel.WARN, format, arg1, arg2); }
     /** Logs a formatted message at WARN level. */
-    public void warn(String format, Object... arguments) { logger.warn(formatMessage("WARN", format), arguments); }
+    public void warn(String format, Object... arguments) { if (logger.isWarnEnabled()) log(VividLevel.WARN, format, arguments); }
     /** Logs a message with exception at WARN level. */
-    public void warn(String msg, Throwable t) { logger.warn(formatMessage("WARN", msg), t); }
+    public void warn(String msg, Throwable t) { if (logger.isWarnEnabled()) log(VividLevel.WARN, msg, t); }
 
     // --- ERROR ---
     /** Logs a message at ERROR level. */
-    public void error(String msg) { logger.error(formatMessage("ERROR", msg)); }
+    public void error(String msg) { if (logger.isErrorEnabled()) log(VividLevel.ERROR, msg); }
     /** Logs a formatted message at ERROR level. */
-    public void error(String format, Object arg) { logger.error(formatMessage("ERROR", format), arg); }
+    public void error(String format, Object arg) { if (logger.isErrorEnabled()) log(VividLevel.ERROR, format, arg); }
     /** Logs a formatted message at ERROR level. */
-    public void error(String format, Object arg1, Object arg2) { logger.error(formatMessage("ERROR", format), arg1, arg2); }
+    public void error(String format, Object arg1, Object arg2) { if (logger.isErrorEnabled()) log(VividLevel.ERROR, format, arg1, arg2); }
     /** Logs a formatted message at ERROR level. */
-    public void error(String format, Object... arguments) { logger.error(formatMessage("ERROR", format), arguments); }
+    public void error(String format, Object... arguments) { if (logger.isErrorEnabled()) log(VividLevel.ERROR, format, arguments); }
     /** Logs a message with exception at ERROR level. */
-    public void error(String msg, Throwable t) { logger.error(formatMessage("ERROR", msg), t); }
+    public void error(String msg, Throwable t) { if (logger.isErrorEnabled()) log(VividLevel.ERROR, msg, t); }
 
     // --- SUCCESS (Custom Level) ---
     /** Logs a message at SUCCESS level (custom level). */
-    public void success(String msg) { logger.info(SUCCESS_MARKER, formatMessage("SUCCESS", msg)); }
+    public void success(String msg) { if (isSuccessEnabled()) log(VividLevel.SUCCESS, msg); }
     /** Logs a formatted message at SUCCESS level. */
-    public void success(String format, Object arg) { logger.info(SUCCESS_MARKER, formatMessage("SUCCESS", format), arg); }
+    public void success(String format, Object arg) { if (isSuccessEnabled()) log(VividLevel.SUCCESS, format, arg); }
     /** Logs a formatted message at SUCCESS level. */
-    public void success(String format, Object arg1, Object arg2) { logger.info(SUCCESS_MARKER, formatMessage("SUCCESS", format), arg1, arg2); }
+    public void success(String format, Object arg1, Object arg2) { if (isSuccessEnabled()) log(VividLevel.SUCCESS, format, arg1, arg2); }
     /** Logs a formatted message at SUCCESS level. */
-    public void success(String format, Object... arguments) { logger.info(SUCCESS_MARKER, formatMessage("SUCCESS", format), arguments); }
+    public void success(String format, Object... arguments) { if (isSuccessEnabled()) log(VividLevel.SUCCESS, format, arguments); }
     /** Logs a message with exception at SUCCESS level. */
-    public void success(String msg, Throwable t) { logger.info(SUCCESS_MARKER, formatMessage("SUCCESS", msg), t); }
+    public void success(String msg, Throwable t) { if (isSuccessEnabled()) log(VividLevel.SUCCESS, msg, t); }
 
     // --- COMPLETED (Custom Level) ---
     /** Logs a message at COMPLETED level (custom level). */
-    public void completed(String msg) { logger.info(COMPLETED_MARKER, formatMessage("COMPLETED", msg)); }
+    public void completed(String msg) { if (isCompletedEnabled()) log(VividLevel.COMPLETED, msg); }
     /** Logs a formatted message at COMPLETED level. */
-    public void completed(String format, Object arg) { logger.info(COMPLETED_MARKER, formatMessage("COMPLETED", format), arg); }
+    public void completed(String format, Object arg) { if (isCompletedEnabled()) log(VividLevel.COMPLETED, format, arg); }
     /** Logs a formatted message at COMPLETED level. */
-    public void completed(String format, Object arg1, Object arg2) { logger.info(COMPLETED_MARKER, formatMessage("COMPLETED", format), arg1, arg2); }
+    public void completed(String format, Object arg1, Object arg2) { if (isCompletedEnabled()) log(VividLevel.COMPLETED, format, arg1, arg2); }
     /** Logs a formatted message at COMPLETED level. */
-    public void completed(String format, Object... arguments) { logger.info(COMPLETED_MARKER, formatMessage("COMPLETED", format), arguments); }
+    public void completed(String format, Object... arguments) { if (isCompletedEnabled()) log(VividLevel.COMPLETED, format, arguments); }
     /** Logs a message with exception at COMPLETED level. */
-    public void completed(String msg, Throwable t) { logger.info(COMPLETED_MARKER, formatMessage("COMPLETED", msg), t); }
+    public void completed(String msg, Throwable t) { if (isCompletedEnabled()) log(VividLevel.COMPLETED, msg, t); }
+
+    // --- Batch Logging ---
+    /**
+     * Starts a batch of lines that are decorated individually and logged as one event,
+     * so the block is appended and written once and stays contiguous.
+     * 
+     * @param level the level of every line in the batch
+     * @return a new batch, or a no-op batch if the level is disabled
+     */
+    public LogBatch batch(VividLevel level) {
+        if (!isEnabled(level)) {
+            return LogBatch.DISABLED;
+        }
+        return new LogBatch(this, level, formatter());
+    }
+
+    /**
+     * Logs an already decorated block as a single event.
+     */
+    void logBlock(VividLevel level, String block, Throwable t) {
+        logBlock(FQCN, level, block, t);
+    }
+
+    /**
+     * Logs an already decorated block as a single event, reporting the caller of {@code fqcn}.
+     */
+    void logBlock(String fqcn, VividLevel level, String block, Throwable t) {
+        if (logger instanceof LocationAwareLogger) {
+            ((LocationAwareLogger) logger).log(level.getMarker(), fqcn, level.getSlf4jLevel().toInt(), block, null, t);
+            return;
+        }
+        switch (level) {
+            case TRACE -> logger.trace(block, t);
+            case DEBUG -> logger.debug(block, t);
+            case INFO -> logger.info(block, t);
+            case WARN -> logger.warn(block, t);
+            case ERROR -> logger.error(block, t);
+            case SUCCESS -> logger.info(SUCCESS_MARKER, block, t);
+            case COMPLETED -> logger.info(COMPLETED_MARKER, block, t);
+        }
+    }
+
+    private void logFormatted(VividLevel level, String format, Object[] arguments) {
+        if (logger instanceof LocationAwareLogger) {
+            // a trailing Throwable among the arguments is still extracted by the backend
+            ((LocationAwareLogger) logger).log(level.getMarker(), FQCN, level.getSlf4jLevel().toInt(), format, arguments, null);
+            return;
+        }
+        switch (level) {
+            case TRACE -> logger.trace(format, arguments);
+            case DEBUG -> logger.debug(format, arguments);
+            case INFO -> logger.info(format, arguments);
+            case WARN -> logger.warn(format, arguments);
+            case ERROR -> logger.error(format, arguments);
+            case SUCCESS -> logger.info(SUCCESS_MARKER, format, arguments);
+            case COMPLETED -> logger.info(COMPLETED_MARKER, format, arguments);
+        }
+    }
+
+    // --- Dispatch (level already checked) ---
+    private void log(VividLevel level, String msg) {
+        log(level, msg, (Throwable) null);
+    }
+
+    private void log(VividLevel level, String msg, Throwable t) {
+        JfrEvents.LogCall event = JfrEvents.logCall();
+        event.started();
+        MessageLimits limits = config.getMessageLimits();
+        if (limits.isEnabled()) {
+            logBounded(limits, level, msg, null, t, event);
+        } else {
+            // messages without arguments are often built per call, so they bypass the cache
+            String block = formatter().format(level, msg);
+            event.formatted();
+            logBlock(level, block, t);
+        }
+        event.finished(logger.getName(), level, getCurrentTheme(), msg);
+    }
+
+    private void log(VividLevel level, String format, Object... arguments) {
+        JfrEvents.LogCall event = JfrEvents.logCall();
+        event.started();
+        MessageLimits limits = config.getMessageLimits();
+        if (limits.isEnabled()) {
+            logBounded(limits, level, format, arguments, null, event);
+        } else {
+            String template = formatTemplate(level, format);
+            event.formatted();
+            logFormatted(level, template, arguments);
+        }
+        event.finished(logger.getName(), level, getCurrentTheme(), format);
+    }
+
+    /**
+     * Substitutes the arguments here instead of in SLF4J, so oversized messages and arguments
+     * are cut while being copied and the full text is never built.
+     */
+    private void logBounded(MessageLimits limits, VividLevel level, String format, Object[] arguments, Throwable t,
+            JfrEvents.LogCall event) {
+        Throwable candidate = org.slf4j.helpers.MessageFormatter.getThrowableCandidate(arguments);
+        if (candidate != null) {
+            // a trailing exception is not a placeholder argument, as in SLF4J
+            t = candidate;
+            arguments = org.slf4j.helpers.MessageFormatter.trimmedCopy(arguments);
+        }
+        MessageFormatter current = formatter();
+        String head = current.getHead(level);
+        String tail = current.getTail(level);
+        if (!limits.isChunked()) {
+            StringBuilder text = new StringBuilder(head);
+            limits.appendTo(text, format, arguments).append(tail);
+            event.formatted();
+            logBlock(level, text.toString(), t);
+            return;
+        }
+        List<String> chunks = limits.chunk(format, arguments);
+        event.formatted();
+        // logged from this frame, so caller data skips straight to the call site
+        int count = chunks.size();
+        for (int i = 0; i < count; i++) {
+            boolean last = i == count - 1;
+            String label = count == 1 ? "" : "(part " + (i + 1) + (last ? ", last) " : ") ");
+            logBlock(level, head + label + chunks.get(i) + tail, last ? t : null);
+        }
+    }
 
     // --- Configuration Methods ---
     /**
@@ -221,26 +554,57 @@ public class Vivid4jLogger {
      * @return this logger instance
      */
     public Vivid4jLogger withTheme(EmojiTheme theme) {
-        this.currentTheme = theme;
+        setTheme(theme);
         return this;
     }
     
     /**
-     * Sets the emoji theme for this logger.
+     * Sets the emoji theme for this logger. Takes effect atomically: every message is
+     * formatted entirely with either the old or the new theme.
      * 
      * @param theme the emoji theme to set
      */
-    public void setTheme(EmojiTheme theme) {
-        this.currentTheme = theme;
+    public synchronized void setTheme(EmojiTheme theme) {
+        if (root != null) {
+            root.setTheme(theme);
+            return;
+        }
+        this.theme = theme;
+        this.formatter = new MessageFormatter(theme, config);
     }
     
     /**
-     * Gets the current emoji theme.
+     * Gets the current emoji theme, as set on this logger. The output mode may render
+     * messages with another one, e.g. the MINIMAL theme in MINIMAL mode.
      * 
      * @return the current theme
      */
     public EmojiTheme getCurrentTheme() {
-        return currentTheme;
+        return root != null ? root.getCurrentTheme() : theme;
+    }
+
+    // --- Bound Context ---
+    /**
+     * Creates a child logger that adds a key-value pair to every message.
+     * The child shares this logger's theme and configuration; its context is rendered
+     * once into the decoration and attached to events as SLF4J key-value pairs.
+     * Cheap enough to create per request or per job.
+     * 
+     * @param key the context key
+     * @param value the context value
+     * @return a new child logger
+     */
+    public Vivid4jLogger with(String key, Object value) {
+        return new Vivid4jLogger(this, Objects.requireNonNull(key, "key"), value);
+    }
+
+    /**
+     * Gets the context bound with {@link #with(String, Object)}.
+     * 
+     * @return the key-value pairs, empty for loggers without context
+     */
+    public List<KeyValuePair> getContext() {
+        return keyValues;
     }
     
     /**
@@ -255,36 +619,37 @@ public class Vivid4jLogger {
     // --- Fun Utility Methods ---
     /** Logs a celebration message with party emojis. */
     public void celebrate(String msg) {
-        success("🎉🎊 " + msg + " 🎊🎉");
+        if (isSuccessEnabled()) success("🎉🎊 " + msg + " 🎊🎉");
     }
     
     /** Logs a thinking message with thinking emoji. */
     public void thinking(String msg) {
-        info("🤔 " + msg);
+        if (logger.isInfoEnabled()) info("🤔 " + msg);
     }
     
     /** Logs a rocket message with rocket emoji. */
     public void rocket(String msg) {
-        info("🚀 " + msg);
+        if (logger.isInfoEnabled()) info("🚀 " + msg);
     }
     
     /** Logs a sparkles message with sparkle emojis. */
     public void sparkles(String msg) {
-        info("✨ " + msg + " ✨");
+        if (logger.isInfoEnabled()) info("✨ " + msg + " ✨");
     }
     
     /** Logs a progress message with hourglass emoji. */
     public void progress(String msg) {
-        info("⏳ " + msg);
+        if (logger.isInfoEnabled()) info("⏳ " + msg);
     }
     
     /** Logs a tada message with party emoji. */
     public void tada(String msg) {
-        success("🎉 " + msg);
+        if (isSuccessEnabled()) success("🎉 " + msg);
     }
 
     /**
      * Unwraps and returns the underlying SLF4J logger.
+     * For child loggers this logger attaches the bound context as key-value pairs.
      * 
      * @return the underlying SLF4J logger
      */
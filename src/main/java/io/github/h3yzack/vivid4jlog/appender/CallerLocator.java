@@ -0,0 +1,74 @@
+package io.github.h3yzack.vivid4jlog.appender;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Finds the application frame that issued a logging call by walking the live stack with
+ * {@link StackWalker}, instead of filling in a full {@link Throwable} stack trace as Logback does.
+ * <p>
+ * The walk skips everything down to Logback's {@code Logger}, then the logging API and wrapper
+ * frames below it (SLF4J, Logback, {@code Vivid4jLogger}, {@code LogBatch} and the configured
+ * framework packages); the first remaining frame is the caller. Only as many frames as
+ * the caller data depth are materialized. It must run on the logging thread.
+ *
+ * @author Zuhaimi A.
+ */
+final class CallerLocator {
+
+    private static final String LOGBACK_LOGGER = ch.qos.logback.classic.Logger.class.getName();
+    private static final Set<String> WRAPPERS = Set.of(
+            "io.github.h3yzack.vivid4jlog.Vivid4jLogger",
+            "io.github.h3yzack.vivid4jlog.LogBatch",
+            "io.github.h3yzack.vivid4jlog.BoundContextLogger",
+            "io.github.h3yzack.vivid4jlog.slf4j.Vivid4jSlf4jLogger");
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final List<String> frameworkPackages;
+    private final int maxDepth;
+
+    /**
+     * Creates a locator.
+     *
+     * @param frameworkPackages further packages whose frames are never the caller
+     * @param maxDepth the number of frames to return, starting at the caller
+     */
+    CallerLocator(List<String> frameworkPackages, int maxDepth) {
+        this.frameworkPackages = List.copyOf(frameworkPackages);
+        this.maxDepth = Math.max(1, maxDepth);
+    }
+
+    /**
+     * Locates the caller on the current stack.
+     *
+     * @return the caller frame followed by its callers, or an empty array if not found
+     */
+    StackTraceElement[] locate() {
+        return WALKER.walk(this::locate);
+    }
+
+    private StackTraceElement[] locate(Stream<StackWalker.StackFrame> frames) {
+        boolean[] inLogger = new boolean[1];
+        return frames
+                .dropWhile(frame -> {
+                    inLogger[0] |= frame.getClassName().equals(LOGBACK_LOGGER);
+                    return !inLogger[0] || isFramework(frame.getClassName());
+                })
+                .limit(maxDepth)
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .toArray(StackTraceElement[]::new);
+    }
+
+    private boolean isFramework(String className) {
+        if (WRAPPERS.contains(className) || className.startsWith("ch.qos.logback.") || className.startsWith("org.slf4j.")) {
+            return true;
+        }
+        for (String frameworkPackage : frameworkPackages) {
+            if (className.startsWith(frameworkPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
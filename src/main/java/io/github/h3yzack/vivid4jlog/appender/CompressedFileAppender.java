@@ -0,0 +1,276 @@
+package io.github.h3yzack.vivid4jlog.appender;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.util.FileSize;
+
+/**
+ * File appender that gzip-compresses log output incrementally as it is written.
+ * Unlike rollover-time compression, the uncompressed file never reaches the disk.
+ * Events at or above the sync-flush level force a deflate SYNC_FLUSH so that
+ * tools like {@code zcat} or {@code zless} can read the tail of the active file.
+ * Intended to be attached to a {@link Vivid4jLogAppender} via {@code <appender-ref/>}:
+ * <pre>
+ *     &lt;appender name="GZ_FILE" class="io.github.h3yzack.vivid4jlog.appender.CompressedFileAppender"&gt;
+ *         &lt;file&gt;logs/app.log.gz&lt;/file&gt;
+ *         &lt;compressionLevel&gt;6&lt;/compressionLevel&gt;
+ *         &lt;syncFlushLevel&gt;ERROR&lt;/syncFlushLevel&gt;
+ *         &lt;maxSegmentSize&gt;50MB&lt;/maxSegmentSize&gt;
+ *         &lt;encoder&gt;
+ *             &lt;pattern&gt;%d %-5level %logger{36} - %msg%n&lt;/pattern&gt;
+ *         &lt;/encoder&gt;
+ *     &lt;/appender&gt;
+ * </pre>
+ * Closed segments are renamed to {@code app.log.1.gz}, {@code app.log.2.gz}, ... with the
+ * highest index being the most recent.
+ *
+ * @author Zuhaimi A.
+ */
+public class CompressedFileAppender extends OutputStreamAppender<ILoggingEvent> {
+
+    private static final String GZ_SUFFIX = ".gz";
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private String fileName;
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private Level syncFlushLevel = Level.ERROR;
+    private FileSize maxSegmentSize = new FileSize(0);
+    private FileSize bufferSize = new FileSize(DEFAULT_BUFFER_SIZE);
+
+    private CountingOutputStream fileStream;
+    private int segmentIndex;
+
+    /**
+     * Creates the appender. Immediate flush is disabled since flushing a deflate stream
+     * after every event defeats compression; use {@link #setSyncFlushLevel(String)} instead.
+     */
+    public CompressedFileAppender() {
+        setImmediateFlush(false);
+    }
+
+    /**
+     * Sets the path of the active compressed file.
+     *
+     * @param file the file path, conventionally ending in {@code .gz}
+     */
+    public void setFile(String file) {
+        this.fileName = file == null ? null : file.trim();
+    }
+
+    /**
+     * Gets the path of the active compressed file.
+     *
+     * @return the file path
+     */
+    public String getFile() {
+        return fileName;
+    }
+
+    /**
+     * Sets the deflate compression level, from 0 (store) to 9 (best), or -1 for the zlib default.
+     *
+     * @param compressionLevel the compression level
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Gets the deflate compression level.
+     *
+     * @return the compression level
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Sets the lowest level that forces a sync flush of the compressed stream.
+     * Use {@code OFF} to only flush on segment close.
+     *
+     * @param levelName the level name, e.g. {@code ERROR} or {@code WARN}
+     */
+    public void setSyncFlushLevel(String levelName) {
+        this.syncFlushLevel = Level.toLevel(levelName, Level.ERROR);
+    }
+
+    /**
+     * Gets the lowest level that forces a sync flush.
+     *
+     * @return the sync flush level
+     */
+    public String getSyncFlushLevel() {
+        return syncFlushLevel.toString();
+    }
+
+    /**
+     * Sets the compressed size after which the active segment is closed and a new one started.
+     * A size of zero disables segment rollover.
+     *
+     * @param maxSegmentSize the maximum compressed segment size
+     */
+    public void setMaxSegmentSize(FileSize maxSegmentSize) {
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    /**
+     * Gets the maximum compressed segment size.
+     *
+     * @return the maximum segment size
+     */
+    public FileSize getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    /**
+     * Sets the size of the deflater input buffer.
+     *
+     * @param bufferSize the buffer size
+     */
+    public void setBufferSize(FileSize bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Gets the number of compressed bytes written to the active segment so far.
+     *
+     * @return the compressed byte count
+     */
+    public long getCompressedBytesWritten() {
+        CountingOutputStream stream = fileStream;
+        return stream == null ? 0 : stream.count;
+    }
+
+    @Override
+    public void start() {
+        if (fileName == null || fileName.isEmpty()) {
+            addError("\"File\" property not set for appender named [" + name + "].");
+            return;
+        }
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            addError("Invalid compressionLevel [" + compressionLevel + "] for appender named [" + name + "].");
+            return;
+        }
+        File file = new File(fileName);
+        segmentIndex = highestSegmentIndex(file);
+        try {
+            if (file.exists() && file.length() > 0) {
+                // a leftover active file from a previous run becomes a closed segment
+                rollSegment(file);
+            }
+            setOutputStream(openSegment(file));
+        } catch (IOException e) {
+            addError("Failed to open compressed file [" + fileName + "]", e);
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    protected void subAppend(ILoggingEvent event) {
+        super.subAppend(event);
+        if (!isStarted()) {
+            return;
+        }
+        boolean syncFlush = event.getLevel().isGreaterOrEqual(syncFlushLevel);
+        long maxSize = maxSegmentSize.getSize();
+        if (!syncFlush && maxSize <= 0) {
+            return;
+        }
+        streamWriteLock.lock();
+        try {
+            if (syncFlush) {
+                getOutputStream().flush();
+            }
+            if (maxSize > 0 && fileStream.count >= maxSize) {
+                rollover();
+            }
+        } catch (IOException e) {
+            addError("IO failure in compressed appender [" + name + "]", e);
+        } finally {
+            streamWriteLock.unlock();
+        }
+    }
+
+    private void rollover() throws IOException {
+        File file = new File(fileName);
+        closeOutputStream();
+        rollSegment(file);
+        setOutputStream(openSegment(file));
+    }
+
+    private void rollSegment(File active) throws IOException {
+        File target = new File(segmentName(++segmentIndex));
+        if (!active.renameTo(target)) {
+            throw new IOException("Could not rename [" + active + "] to [" + target + "]");
+        }
+    }
+
+    private OutputStream openSegment(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create parent directories for [" + file + "]");
+        }
+        fileStream = new CountingOutputStream(new FileOutputStream(file));
+        int size = (int) bufferSize.getSize();
+        return new LeveledGzipOutputStream(new BufferedOutputStream(fileStream, size), size, compressionLevel);
+    }
+
+    private String segmentName(int index) {
+        String base = fileName.endsWith(GZ_SUFFIX)
+                ? fileName.substring(0, fileName.length() - GZ_SUFFIX.length())
+                : fileName;
+        return base + "." + index + GZ_SUFFIX;
+    }
+
+    private int highestSegmentIndex(File file) {
+        int index = 0;
+        while (new File(segmentName(index + 1)).exists()) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * GZIP stream with a configurable deflate level; flush() performs a SYNC_FLUSH.
+     */
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int size, int level) throws IOException {
+            super(out, size, true);
+            def.setLevel(level);
+        }
+    }
+
+    /**
+     * Counts bytes reaching the file, i.e. compressed bytes.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private volatile long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.h3yzack.vivid4jlog.appender;
+
+/**
+ * How much work {@link Vivid4jLogAppender} spends per event in adaptive mode, from the
+ * full decoration down to dropping verbose events. Each level includes the savings of the ones before.
+ *
+ * @author Zuhaimi A.
+ */
+public enum DegradationLevel {
+    /** Theme emoji and colors as configured. */
+    FULL,
+    /** MINIMAL theme without colors. */
+    MINIMAL,
+    /** Events are passed on undecorated. */
+    PLAIN,
+    /** Undecorated, and TRACE and DEBUG events are dropped. */
+    SHED_VERBOSE;
+
+    DegradationLevel lower() {
+        return this == SHED_VERBOSE ? this : values()[ordinal() + 1];
+    }
+
+    DegradationLevel higher() {
+        return this == FULL ? this : values()[ordinal() - 1];
+    }
+}
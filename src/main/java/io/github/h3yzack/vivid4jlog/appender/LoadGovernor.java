@@ -0,0 +1,166 @@
+package io.github.h3yzack.vivid4jlog.appender;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides the {@link DegradationLevel} of an adaptive {@link Vivid4jLogAppender} from the
+ * event rate and the average time spent appending to the attached sinks.
+ * <p>
+ * Both are measured over fixed windows. A window in which either exceeds its limit steps
+ * down one level. Stepping back up needs {@code recoveryWindows} consecutive windows with
+ * both below half their limit, so a load hovering around a limit does not flap between levels.
+ * Counting is lock-free; the window that ends is evaluated by the one thread that closes it.
+ *
+ * @author Zuhaimi A.
+ */
+public class LoadGovernor {
+
+    private static final double RECOVERY_RATIO = 0.5;
+
+    private final long windowNanos;
+    private final double maxEventRate;
+    private final long maxLatencyNanos;
+    private final int recoveryWindows;
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final AtomicLong windowStart;
+    private final AtomicLong transitions = new AtomicLong();
+
+    private volatile DegradationLevel level = DegradationLevel.FULL;
+    private volatile double eventRate;
+    private volatile long averageLatencyNanos;
+    // only touched by the thread evaluating a window
+    private int coolWindows;
+
+    /**
+     * Creates a governor.
+     *
+     * @param windowMillis the measurement window
+     * @param maxEventRate the events per second above which decoration is reduced
+     * @param maxLatencyMicros the average append time above which decoration is reduced
+     * @param recoveryWindows the number of quiet windows needed to step back up
+     * @param now the current {@link System#nanoTime()}
+     */
+    LoadGovernor(long windowMillis, double maxEventRate, long maxLatencyMicros, int recoveryWindows, long now) {
+        this.windowNanos = Math.max(1, windowMillis) * 1_000_000L;
+        this.maxEventRate = maxEventRate;
+        this.maxLatencyNanos = maxLatencyMicros * 1000L;
+        this.recoveryWindows = Math.max(1, recoveryWindows);
+        this.windowStart = new AtomicLong(now);
+    }
+
+    /**
+     * Counts an event and evaluates the window if it has ended.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the new level if this call changed it, otherwise null
+     */
+    DegradationLevel onEvent(long now) {
+        events.increment();
+        long start = windowStart.get();
+        if (now - start < windowNanos || !windowStart.compareAndSet(start, now)) {
+            return null;
+        }
+        return evaluate(now - start);
+    }
+
+    /**
+     * Records how long delivering one event to the sinks took.
+     *
+     * @param nanos the append time
+     */
+    void onDelivered(long nanos) {
+        delivered.increment();
+        latencyNanos.add(nanos);
+    }
+
+    /**
+     * Counts an event dropped at {@link DegradationLevel#SHED_VERBOSE}.
+     */
+    void onShed() {
+        shed.increment();
+    }
+
+    private synchronized DegradationLevel evaluate(long elapsedNanos) {
+        long count = events.sumThenReset();
+        long deliveredCount = delivered.sumThenReset();
+        long latency = latencyNanos.sumThenReset();
+        double rate = count * 1e9 / elapsedNanos;
+        long average = deliveredCount == 0 ? 0 : latency / deliveredCount;
+        eventRate = rate;
+        averageLatencyNanos = average;
+
+        DegradationLevel current = level;
+        if (rate > maxEventRate || average > maxLatencyNanos) {
+            coolWindows = 0;
+            return change(current, current.lower());
+        }
+        if (rate < maxEventRate * RECOVERY_RATIO && average < maxLatencyNanos * RECOVERY_RATIO) {
+            if (++coolWindows >= recoveryWindows) {
+                coolWindows = 0;
+                return change(current, current.higher());
+            }
+        } else {
+            coolWindows = 0;
+        }
+        return null;
+    }
+
+    private DegradationLevel change(DegradationLevel from, DegradationLevel to) {
+        if (from == to) {
+            return null;
+        }
+        level = to;
+        transitions.incrementAndGet();
+        return to;
+    }
+
+    /**
+     * Gets the current level.
+     *
+     * @return the degradation level
+     */
+    public DegradationLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the number of level changes so far.
+     *
+     * @return the transition count
+     */
+    public long getTransitionCount() {
+        return transitions.get();
+    }
+
+    /**
+     * Gets the number of TRACE and DEBUG events dropped so far.
+     *
+     * @return the shed event count
+     */
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    /**
+     * Gets the event rate of the last completed window.
+     *
+     * @return events per second
+     */
+    public double getEventRate() {
+        return eventRate;
+    }
+
+    /**
+     * Gets the average append time of the last completed window.
+     *
+     * @return the average time in microseconds
+     */
+    public long getAppendLatencyMicros() {
+        return averageLatencyNanos / 1000;
+    }
+}
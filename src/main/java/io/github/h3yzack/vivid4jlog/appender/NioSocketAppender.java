@@ -0,0 +1,577 @@
+package io.github.h3yzack.vivid4jlog.appender;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.util.FileSize;
+import io.github.h3yzack.vivid4jlog.theme.AnsiColors;
+
+/**
+ * Ships decorated lines to a local collector over a non-blocking TCP or Unix domain socket.
+ * Logging threads never touch the socket: {@link #append} only queues the encoded line, and a
+ * single I/O thread batches queued lines into a direct buffer and writes them as the socket
+ * accepts them. A slow or absent collector therefore never stalls the caller.
+ * <p>
+ * While disconnected, lines are kept in a spill buffer of {@code spillSize} bytes and sent after
+ * reconnecting; reconnects back off exponentially from {@code reconnectDelay} to
+ * {@code maxReconnectDelay}. Lines that do not fit into the spill buffer are dropped and counted.
+ * The batch buffer holds whole lines, so after a broken connection the line that was cut off is
+ * sent again from its start and the collector never receives a torn line; a line longer than the
+ * buffer that was cut off is dropped and counted. Bytes already handed to the operating system
+ * when a connection breaks may be lost.
+ * <p>
+ * Attach it to a {@link Vivid4jLogAppender} to ship the decorated message, one per line:
+ * <pre>
+ *     &lt;appender name="COLLECTOR" class="io.github.h3yzack.vivid4jlog.appender.NioSocketAppender"&gt;
+ *         &lt;remoteHost&gt;127.0.0.1&lt;/remoteHost&gt;
+ *         &lt;port&gt;5170&lt;/port&gt;           &lt;!-- or &lt;path&gt;/run/agent.sock&lt;/path&gt; --&gt;
+ *         &lt;colorEnabled&gt;false&lt;/colorEnabled&gt;
+ *         &lt;spillSize&gt;4MB&lt;/spillSize&gt;
+ *     &lt;/appender&gt;
+ * </pre>
+ * Without an encoder each event is written as its formatted message followed by a newline;
+ * with an encoder, the encoder output is written as is.
+ *
+ * @author Zuhaimi A.
+ */
+public class NioSocketAppender extends AppenderBase<ILoggingEvent> {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_SPILL_SIZE = 1024 * 1024;
+
+    private String remoteHost = "127.0.0.1";
+    private int port;
+    private String path;
+    private Encoder<ILoggingEvent> encoder;
+    private boolean colorEnabled = true;
+    private FileSize bufferSize = new FileSize(DEFAULT_BUFFER_SIZE);
+    private FileSize spillSize = new FileSize(DEFAULT_SPILL_SIZE);
+    private int reconnectDelay = 100;
+    private int maxReconnectDelay = 30_000;
+    private int maxFlushTime = 1000;
+
+    // guarded by itself; the spill buffer, filled by logging threads and drained by the I/O thread
+    private final ArrayDeque<byte[]> pending = new ArrayDeque<>();
+    private long pendingBytes;
+    private long spillLimit;
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong droppedBytes = new AtomicLong();
+    private volatile long sentEvents;
+    private volatile long sentBytes;
+    private volatile long connects;
+    private volatile boolean connected;
+
+    private SocketAddress address;
+    private Selector selector;
+    private Thread ioThread;
+    private volatile boolean running;
+
+    // owned by the I/O thread
+    private SocketChannel channel;
+    private ByteBuffer buffer;
+    private final ByteBuffer scratch = ByteBuffer.allocate(256);
+    private byte[] carry;
+    private int carryOffset;
+    // ends of the complete lines in the batch buffer; those before lineHead are fully written
+    private int[] lineEnds = new int[64];
+    private int lineCount;
+    private int lineHead;
+    // the buffer starts with the rest of a line longer than the buffer
+    private boolean continuedLine;
+    private long nextAttempt;
+    private long backoff;
+
+    /**
+     * Sets the host of the collector for TCP connections.
+     *
+     * @param remoteHost the host name or address, 127.0.0.1 by default
+     */
+    public void setRemoteHost(String remoteHost) {
+        this.remoteHost = remoteHost == null ? null : remoteHost.trim();
+    }
+
+    /**
+     * Gets the host of the collector.
+     *
+     * @return the host
+     */
+    public String getRemoteHost() {
+        return remoteHost;
+    }
+
+    /**
+     * Sets the TCP port of the collector.
+     *
+     * @param port the port
+     */
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Gets the TCP port of the collector.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Sets the path of a Unix domain socket to connect to instead of TCP.
+     *
+     * @param path the socket file path
+     */
+    public void setPath(String path) {
+        this.path = path == null || path.isBlank() ? null : path.trim();
+    }
+
+    /**
+     * Gets the path of the Unix domain socket.
+     *
+     * @return the socket path, or null for TCP
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Sets the encoder turning events into bytes. Without one, the formatted message
+     * and a newline are written.
+     *
+     * @param encoder the encoder
+     */
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    /**
+     * Sets whether ANSI color codes are kept when no encoder is set.
+     *
+     * @param colorEnabled false to strip colors from the lines
+     */
+    public void setColorEnabled(boolean colorEnabled) {
+        this.colorEnabled = colorEnabled;
+    }
+
+    /**
+     * Sets the size of the direct buffer lines are batched into before writing.
+     *
+     * @param bufferSize the batch buffer size
+     */
+    public void setBufferSize(FileSize bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Sets how many bytes of lines may wait for the socket before new lines are dropped.
+     *
+     * @param spillSize the spill buffer size
+     */
+    public void setSpillSize(FileSize spillSize) {
+        this.spillSize = spillSize;
+    }
+
+    /**
+     * Sets the delay before the first reconnect attempt; it doubles after each failure.
+     *
+     * @param reconnectDelay the delay in milliseconds
+     */
+    public void setReconnectDelay(int reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Sets the upper bound of the reconnect delay.
+     *
+     * @param maxReconnectDelay the delay in milliseconds
+     */
+    public void setMaxReconnectDelay(int maxReconnectDelay) {
+        this.maxReconnectDelay = maxReconnectDelay;
+    }
+
+    /**
+     * Sets how long {@link #stop()} waits for queued lines to be sent.
+     *
+     * @param maxFlushTime the time in milliseconds
+     */
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    /**
+     * Checks if the appender is currently connected to the collector.
+     *
+     * @return true while connected
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Gets the number of successful connections, including the first.
+     *
+     * @return the connect count
+     */
+    public long getConnectCount() {
+        return connects;
+    }
+
+    /**
+     * Gets the number of lines completely handed to the socket.
+     *
+     * @return the sent line count
+     */
+    public long getSentEvents() {
+        return sentEvents;
+    }
+
+    /**
+     * Gets the number of bytes handed to the socket.
+     *
+     * @return the sent byte count
+     */
+    public long getSentBytes() {
+        return sentBytes;
+    }
+
+    /**
+     * Gets the number of lines dropped because the spill buffer was full or the appender stopped.
+     *
+     * @return the dropped line count
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Gets the number of bytes dropped.
+     *
+     * @return the dropped byte count
+     */
+    public long getDroppedBytes() {
+        return droppedBytes.get();
+    }
+
+    /**
+     * Gets the number of bytes waiting in the spill buffer.
+     *
+     * @return the pending byte count
+     */
+    public long getPendingBytes() {
+        synchronized (pending) {
+            return pendingBytes;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (path == null && (port <= 0 || remoteHost == null || remoteHost.isEmpty())) {
+            addError("Either \"Path\" or \"RemoteHost\" and \"Port\" must be set for appender named [" + name + "].");
+            return;
+        }
+        address = path != null ? UnixDomainSocketAddress.of(path) : new InetSocketAddress(remoteHost, port);
+        spillLimit = Math.max(1, spillSize.getSize());
+        try {
+            selector = Selector.open();
+        } catch (IOException e) {
+            addError("Failed to open selector for appender named [" + name + "]", e);
+            return;
+        }
+        buffer = ByteBuffer.allocateDirect((int) Math.max(1024, Math.min(bufferSize.getSize(), Integer.MAX_VALUE)));
+        buffer.flip();
+        backoff = Math.max(1, reconnectDelay);
+        running = true;
+        ioThread = new Thread(this::run, "vivid4jlog-socket-" + name);
+        ioThread.setDaemon(true);
+        ioThread.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        selector.wakeup();
+        try {
+            ioThread.join(Math.max(1, maxFlushTime) + 100L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long lost;
+        synchronized (pending) {
+            lost = pending.size();
+            droppedEvents.addAndGet(lost);
+            droppedBytes.addAndGet(pendingBytes);
+            pending.clear();
+            pendingBytes = 0;
+        }
+        if (lost > 0) {
+            addWarn(lost + " lines were not sent before appender [" + name + "] stopped.");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        byte[] line = encode(event);
+        boolean wasEmpty;
+        synchronized (pending) {
+            if (pendingBytes + line.length > spillLimit) {
+                droppedEvents.incrementAndGet();
+                droppedBytes.addAndGet(line.length);
+                return;
+            }
+            wasEmpty = pending.isEmpty();
+            pending.add(line);
+            pendingBytes += line.length;
+        }
+        if (wasEmpty) {
+            // the I/O thread only needs waking when it may have run out of work
+            selector.wakeup();
+        }
+    }
+
+    private byte[] encode(ILoggingEvent event) {
+        if (encoder != null) {
+            return encoder.encode(event);
+        }
+        String text = event.getFormattedMessage();
+        if (!colorEnabled) {
+            text = AnsiColors.strip(text);
+        }
+        byte[] bytes = (text == null ? "null" : text).getBytes(StandardCharsets.UTF_8);
+        byte[] line = Arrays.copyOf(bytes, bytes.length + 1);
+        line[bytes.length] = '\n';
+        return line;
+    }
+
+    private void run() {
+        long deadline = Long.MAX_VALUE;
+        try {
+            while (running || (connected && hasWork() && System.currentTimeMillis() < deadline)) {
+                if (!running && deadline == Long.MAX_VALUE) {
+                    deadline = System.currentTimeMillis() + maxFlushTime;
+                }
+                if (channel == null && running && System.currentTimeMillis() >= nextAttempt) {
+                    connect();
+                }
+                if (connected) {
+                    send();
+                }
+                selector.select(selectTimeout());
+                handleSelected();
+            }
+        } catch (IOException | RuntimeException e) {
+            addError("I/O thread of appender [" + name + "] failed", e);
+        } finally {
+            disconnect(null);
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // nothing left to release
+            }
+        }
+    }
+
+    private boolean hasWork() {
+        if (buffer.hasRemaining() || carry != null) {
+            return true;
+        }
+        synchronized (pending) {
+            return !pending.isEmpty();
+        }
+    }
+
+    private long selectTimeout() {
+        if (channel == null) {
+            return running ? Math.max(1, nextAttempt - System.currentTimeMillis()) : 1;
+        }
+        // bounded so a stop request during a stalled write still gets noticed
+        return running ? 1000 : 10;
+    }
+
+    private void connect() {
+        try {
+            channel = path != null ? SocketChannel.open(StandardProtocolFamily.UNIX) : SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(address)) {
+                connected();
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT);
+            }
+        } catch (IOException e) {
+            disconnect(e);
+        }
+    }
+
+    private void connected() throws IOException {
+        channel.register(selector, SelectionKey.OP_READ);
+        connected = true;
+        connects++;
+        backoff = Math.max(1, reconnectDelay);
+        addInfo("Appender [" + name + "] connected to " + address);
+    }
+
+    private void handleSelected() {
+        for (SelectionKey key : selector.selectedKeys()) {
+            if (!key.isValid() || key.channel() != channel) {
+                continue;
+            }
+            try {
+                if (key.isConnectable() && channel.finishConnect()) {
+                    connected();
+                } else if (key.isReadable() && channel.read(scratch.clear()) < 0) {
+                    // collectors do not talk back; end of stream means the peer went away
+                    disconnect(new IOException("Connection closed by peer"));
+                }
+            } catch (IOException e) {
+                disconnect(e);
+            }
+        }
+        selector.selectedKeys().clear();
+    }
+
+    /**
+     * Writes as much as the socket accepts, refilling the batch buffer from the spill buffer.
+     */
+    private void send() {
+        try {
+            while (true) {
+                if (!buffer.hasRemaining() && !fill()) {
+                    setWriteInterest(false);
+                    return;
+                }
+                int written = channel.write(buffer);
+                sentBytes += written;
+                acknowledge();
+                if (buffer.hasRemaining()) {
+                    // the socket is full; wait until it can take more
+                    setWriteInterest(true);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            disconnect(e);
+        }
+    }
+
+    /**
+     * Refills the batch buffer with whole lines; only a line longer than the buffer is split.
+     */
+    private boolean fill() {
+        buffer.clear();
+        lineCount = 0;
+        lineHead = 0;
+        continuedLine = carry != null;
+        synchronized (pending) {
+            while (buffer.hasRemaining()) {
+                if (carry == null) {
+                    byte[] next = pending.peek();
+                    if (next == null || (next.length > buffer.remaining() && buffer.position() > 0)) {
+                        break;
+                    }
+                    carry = pending.poll();
+                    carryOffset = 0;
+                    pendingBytes -= carry.length;
+                }
+                int count = Math.min(buffer.remaining(), carry.length - carryOffset);
+                buffer.put(carry, carryOffset, count);
+                carryOffset += count;
+                if (carryOffset == carry.length) {
+                    carry = null;
+                    if (lineCount == lineEnds.length) {
+                        lineEnds = Arrays.copyOf(lineEnds, lineCount * 2);
+                    }
+                    lineEnds[lineCount++] = buffer.position();
+                }
+            }
+        }
+        buffer.flip();
+        return buffer.hasRemaining();
+    }
+
+    /**
+     * Counts the lines whose last byte has been written.
+     */
+    private void acknowledge() {
+        int position = buffer.position();
+        while (lineHead < lineCount && lineEnds[lineHead] <= position) {
+            lineHead++;
+            sentEvents++;
+        }
+    }
+
+    /**
+     * Moves the batch buffer back to the start of a partially written line, so it is sent whole
+     * on the next connection. The rest of a split line whose start is already gone is dropped.
+     */
+    private void rewindToLineStart() {
+        if (buffer == null || !buffer.hasRemaining()) {
+            return;
+        }
+        if (lineHead == 0 && continuedLine) {
+            int end = lineCount > 0 ? lineEnds[0] : buffer.limit();
+            long skipped = end - buffer.position();
+            if (lineCount == 0 && carry != null) {
+                skipped += carry.length - carryOffset;
+                carry = null;
+            }
+            buffer.position(end);
+            lineHead = lineCount > 0 ? 1 : 0;
+            continuedLine = false;
+            droppedEvents.incrementAndGet();
+            droppedBytes.addAndGet(skipped);
+            return;
+        }
+        buffer.position(lineHead == 0 ? 0 : lineEnds[lineHead - 1]);
+    }
+
+    private void setWriteInterest(boolean write) {
+        SelectionKey key = channel.keyFor(selector);
+        if (key != null && key.isValid()) {
+            key.interestOps(write ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Closes the channel and schedules the next attempt. Unsent lines in the batch buffer are
+     * kept and sent first after reconnecting.
+     */
+    private void disconnect(IOException cause) {
+        rewindToLineStart();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // already broken
+            }
+            channel = null;
+        }
+        if (connected && cause != null) {
+            addWarn("Appender [" + name + "] lost connection to " + address + ", reconnecting", cause);
+        }
+        connected = false;
+        if (cause != null) {
+            nextAttempt = System.currentTimeMillis() + backoff;
+            backoff = Math.min(backoff * 2, Math.max(backoff, maxReconnectDelay));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.h3yzack.vivid4jlog.appender;
+
+/**
+ * What a fan-out sink does when its queue is full.
+ *
+ * @author Zuhaimi A.
+ */
+public enum OverflowPolicy {
+    /** Wait for space; nothing is lost, but a stalled sink slows down the caller. */
+    BLOCK,
+    /** Drop the event being logged. */
+    DROP_NEWEST,
+    /** Drop the oldest queued event to make room for the new one. */
+    DROP_OLDEST
+}
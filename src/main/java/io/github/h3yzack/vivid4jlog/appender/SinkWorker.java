@@ -0,0 +1,277 @@
+package io.github.h3yzack.vivid4jlog.appender;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+/**
+ * Delivers events to one attached appender from its own bounded queue and thread,
+ * so a slow sink only delays itself. Used by {@link Vivid4jLogAppender} in fan-out mode.
+ * <p>
+ * Lag is measured when an event is delivered, as the time since the event was logged.
+ * The time from queueing an event to the sink returning is also reported to a listener,
+ * which feeds the load governor of an adaptive appender.
+ *
+ * @author Zuhaimi A.
+ */
+public class SinkWorker {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final Appender<ILoggingEvent> appender;
+    private final BlockingQueue<Queued> queue;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Thread thread;
+    private final boolean virtual;
+    private final LongConsumer deliveryListener;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long lastLagMillis;
+    private volatile long maxLagMillis;
+    private volatile boolean running = true;
+    // set when draining timed out; the worker then leaves the rest of the queue
+    private volatile boolean abandoned;
+
+    /**
+     * Creates and starts a worker.
+     *
+     * @param deliveryListener receives the nanoseconds from queueing to delivery of each event
+     */
+    SinkWorker(Appender<ILoggingEvent> appender, int capacity, OverflowPolicy policy, boolean virtualThread,
+            LongConsumer deliveryListener) {
+        this.appender = appender;
+        this.deliveryListener = deliveryListener;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        String name = "vivid4jlog-sink-" + appender.getName();
+        Thread worker = virtualThread ? newVirtualThread(name, this::run) : null;
+        this.virtual = worker != null;
+        if (worker == null) {
+            worker = new Thread(this::run, name);
+            worker.setDaemon(true);
+        }
+        this.thread = worker;
+        thread.start();
+    }
+
+    /**
+     * Queues an event according to the overflow policy.
+     */
+    void enqueue(ILoggingEvent event) {
+        Queued queued = new Queued(event, System.nanoTime());
+        switch (policy) {
+            case BLOCK -> {
+                try {
+                    queue.put(queued);
+                } catch (InterruptedException e) {
+                    dropped.incrementAndGet();
+                    Thread.currentThread().interrupt();
+                }
+            }
+            case DROP_NEWEST -> {
+                if (!queue.offer(queued)) {
+                    dropped.incrementAndGet();
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(queued)) {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting work, delivers what is queued and waits for the worker to finish.
+     * If the queue does not drain in time, the worker is interrupted and waited for again, so
+     * it no longer touches the sink once this returns; the events left in the queue are discarded.
+     *
+     * @param maxWaitMillis how long to wait for the queue to drain
+     * @return the number of queued events that were not delivered
+     */
+    int stop(long maxWaitMillis) {
+        running = false;
+        join(maxWaitMillis);
+        if (thread.isAlive()) {
+            abandoned = true;
+            thread.interrupt();
+            join(maxWaitMillis);
+        }
+        int discarded = queue.size();
+        queue.clear();
+        return discarded;
+    }
+
+    private void join(long maxWaitMillis) {
+        try {
+            thread.join(Math.max(1, maxWaitMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Checks if the worker thread is still running, e.g. inside a sink that ignored the interrupt.
+     *
+     * @return true if the worker has not finished
+     */
+    boolean isAlive() {
+        return thread.isAlive();
+    }
+
+    private void run() {
+        while ((running || !queue.isEmpty()) && !abandoned) {
+            Queued queued;
+            try {
+                queued = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (queued == null) {
+                continue;
+            }
+            ILoggingEvent event = queued.event;
+            long lag = System.currentTimeMillis() - event.getTimeStamp();
+            lastLagMillis = lag;
+            if (lag > maxLagMillis) {
+                maxLagMillis = lag;
+            }
+            try {
+                appender.doAppend(event);
+                delivered.incrementAndGet();
+            } catch (RuntimeException e) {
+                // a failing sink must not kill its worker
+                failed.incrementAndGet();
+            }
+            deliveryListener.accept(System.nanoTime() - queued.nanos);
+        }
+    }
+
+    /**
+     * Creates a virtual thread through reflection, since {@code Thread.ofVirtual()} only exists
+     * from Java 21 while this library targets Java 17.
+     *
+     * @return the unstarted thread, or null if virtual threads are not available
+     */
+    private static Thread newVirtualThread(String name, Runnable task) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class).invoke(builder, name);
+            return (Thread) builderType.getMethod("unstarted", Runnable.class).invoke(builder, task);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the appender this worker delivers to.
+     *
+     * @return the sink appender
+     */
+    public Appender<ILoggingEvent> getAppender() {
+        return appender;
+    }
+
+    /**
+     * Gets the overflow policy of this sink.
+     *
+     * @return the overflow policy
+     */
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the queue capacity.
+     *
+     * @return the maximum number of queued events
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of events waiting for this sink.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of events handed to the sink.
+     *
+     * @return the delivered count
+     */
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    /**
+     * Gets the number of events dropped by the overflow policy.
+     *
+     * @return the dropped count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the number of events the sink threw on.
+     *
+     * @return the failed count
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Gets the lag of the most recently delivered event.
+     *
+     * @return milliseconds between logging and delivery
+     */
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    /**
+     * Gets the largest lag seen so far.
+     *
+     * @return the maximum milliseconds between logging and delivery
+     */
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    /**
+     * Checks if the worker thread is a virtual thread.
+     *
+     * @return true if running on a virtual thread
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    private static final class Queued {
+        final ILoggingEvent event;
+        final long nanos;
+
+        Queued(ILoggingEvent event, long nanos) {
+            this.event = event;
+            this.nanos = nanos;
+        }
+    }
+}
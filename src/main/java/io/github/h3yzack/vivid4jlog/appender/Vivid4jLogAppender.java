@@ -1,56 +1,454 @@
 package io.github.h3yzack.vivid4jlog.appender;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import ch.qos.logback.classic.ClassicConstants;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.spi.AppenderAttachable;
 import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import io.github.h3yzack.vivid4jlog.format.MessageFormatter;
+import io.github.h3yzack.vivid4jlog.jfr.JfrEvents;
 import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+import io.github.h3yzack.vivid4jlog.theme.OutputMode;
 
 /**
  * Custom Logback appender that wraps logging events with emoji and color formatting.
  * This appender can be configured in logback.xml to apply theme-based formatting.
+ * <p>
+ * By default attached appenders run one after another on the logging thread.
+ * With {@code fanOut} enabled each attached appender gets its own bounded queue and worker
+ * thread (a virtual thread when the runtime has them), so a slow sink cannot delay the
+ * others or the caller. The decorated event is built once and shared read-only by all sinks.
+ * Overflow policy and queue size can be set per sink:
+ * <pre>
+ *     &lt;fanOut&gt;true&lt;/fanOut&gt;
+ *     &lt;overflowPolicy&gt;BLOCK&lt;/overflowPolicy&gt;
+ *     &lt;sink&gt;NETWORK=DROP_OLDEST:8192&lt;/sink&gt;
+ * </pre>
+ * With {@code adaptive} enabled the appender reduces its own overhead when the event rate or
+ * the time spent in the sinks gets too high, stepping through {@link DegradationLevel}s and
+ * back as load drops. Each change is logged as one WARN line; see {@link #getLoadGovernor()}.
+ * In fan-out mode the time in the sinks is measured by the workers, from queueing an event to
+ * the sink returning, so a backed-up queue counts as latency.
+ * <pre>
+ *     &lt;adaptive&gt;true&lt;/adaptive&gt;
+ *     &lt;maxEventRate&gt;20000&lt;/maxEventRate&gt;
+ *     &lt;maxAppendLatency&gt;200&lt;/maxAppendLatency&gt;
+ * </pre>
  * 
  * @author Zuhaimi A.
  */
 public class Vivid4jLogAppender extends AppenderBase<ILoggingEvent>
         implements AppenderAttachable<ILoggingEvent> {
 
+    private static final String FQCN = Vivid4jLogAppender.class.getName();
+
     private final AppenderAttachableImpl<ILoggingEvent> attachable = new AppenderAttachableImpl<>();
-    private EmojiTheme theme = EmojiTheme.CLASSIC;
-    private boolean colorEnabled = true;
+    // theme and color travel together in one immutable snapshot
+    private volatile MessageFormatter formatter = MessageFormatter.of(EmojiTheme.CLASSIC, true, "", "");
+    // AUTO is replaced by the detected mode on start
+    private OutputMode output = OutputMode.FULL;
+
+    // fan-out settings
+    private boolean fanOut = false;
+    private int queueSize = 1024;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private boolean virtualThreads = true;
+    private boolean includeCallerData = false;
+    private boolean stackWalkerCallerData = false;
+    // set on start when stackWalkerCallerData is enabled
+    private CallerLocator callerLocator;
+    private long maxFlushTime = 1000;
+    private final Map<String, SinkOptions> sinkOptions = new HashMap<>();
+    private final List<SinkWorker> workers = new CopyOnWriteArrayList<>();
+
+    // adaptive degradation settings
+    private boolean adaptive = false;
+    private double maxEventRate = 10_000;
+    private long maxAppendLatency = 500;
+    private long adaptiveWindow = 1000;
+    private int recoveryWindows = 3;
+    private volatile LoadGovernor governor;
 
     /**
-     * Sets the emoji theme for this appender.
+     * Sets the emoji theme for this appender. The output mode still applies, e.g. no emoji in plain mode.
      * 
      * @param themeName the name of the theme
      */
-    public void setTheme(String themeName) {
-        this.theme = EmojiTheme.fromString(themeName);
+    public synchronized void setTheme(String themeName) {
+        this.formatter = formatter.withTheme(EmojiTheme.fromString(themeName)).forOutput(output);
     }
     
     /**
-     * Enables or disables color output.
+     * Enables or disables color output. Colors are only written if the output mode allows them.
      * 
      * @param colorEnabled true to enable colors, false to disable
      */
-    public void setColorEnabled(boolean colorEnabled) {
-        this.colorEnabled = colorEnabled;
+    public synchronized void setColorEnabled(boolean colorEnabled) {
+        this.formatter = formatter.withColorEnabled(colorEnabled).forOutput(output);
+    }
+
+    /**
+     * Sets how much decoration is written: {@code full}, {@code emoji}, {@code minimal}, {@code plain},
+     * or {@code auto} to detect on start what the console can show. Applied when the appender starts.
+     * An unknown name is reported and the current mode is kept.
+     * 
+     * @param outputName the name of the output mode
+     */
+    public void setOutput(String outputName) {
+        OutputMode mode = OutputMode.fromString(outputName);
+        if (mode == null) {
+            addWarn("Unknown output [" + outputName + "], keeping " + output);
+            return;
+        }
+        this.output = mode;
+    }
+
+    /**
+     * Gets the output mode, resolved once the appender has started.
+     * 
+     * @return the output mode
+     */
+    public OutputMode getOutputMode() {
+        return output;
+    }
+
+    /**
+     * Enables fan-out mode, delivering to each attached appender from its own queue and thread.
+     * 
+     * @param fanOut true to deliver asynchronously per sink
+     */
+    public void setFanOut(boolean fanOut) {
+        this.fanOut = fanOut;
+    }
+
+    /**
+     * Sets the default queue size of each sink in fan-out mode.
+     * 
+     * @param queueSize the maximum number of queued events per sink
+     */
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Sets the default overflow policy of each sink in fan-out mode.
+     * 
+     * @param overflowPolicy what to do when a sink queue is full
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Sets whether fan-out workers should use virtual threads when available.
+     * 
+     * @param virtualThreads true to prefer virtual threads
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Sets whether caller data is captured before events are queued, for sinks whose layout prints it.
+     * 
+     * @param includeCallerData true to capture caller data on the logging thread
+     */
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    /**
+     * Sets whether caller data of decorated events is located with {@link StackWalker} when a sink
+     * first asks for it, instead of by Logback from a full stack trace. Only the frames needed are
+     * walked; events that never print caller data cost nothing.
+     * 
+     * @param stackWalkerCallerData true to locate caller data with a stack walk
+     */
+    public void setStackWalkerCallerData(boolean stackWalkerCallerData) {
+        this.stackWalkerCallerData = stackWalkerCallerData;
+    }
+
+    /**
+     * Sets how long stopping waits for each sink queue to drain.
+     * 
+     * @param maxFlushTime the time in milliseconds
+     */
+    public void setMaxFlushTime(long maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    /**
+     * Enables adaptive degradation of the decoration under load.
+     * 
+     * @param adaptive true to adapt to the event rate and append time
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Sets the event rate above which the decoration is reduced in adaptive mode.
+     * 
+     * @param maxEventRate the events per second
+     */
+    public void setMaxEventRate(double maxEventRate) {
+        this.maxEventRate = maxEventRate;
+    }
+
+    /**
+     * Sets the average time spent in the sinks above which the decoration is reduced in adaptive mode.
+     * 
+     * @param maxAppendLatency the time in microseconds
+     */
+    public void setMaxAppendLatency(long maxAppendLatency) {
+        this.maxAppendLatency = maxAppendLatency;
+    }
+
+    /**
+     * Sets the window over which rate and append time are measured in adaptive mode.
+     * 
+     * @param adaptiveWindow the window in milliseconds
+     */
+    public void setAdaptiveWindow(long adaptiveWindow) {
+        this.adaptiveWindow = adaptiveWindow;
+    }
+
+    /**
+     * Sets how many quiet windows in a row are needed before the decoration steps back up.
+     * 
+     * @param recoveryWindows the number of windows
+     */
+    public void setRecoveryWindows(int recoveryWindows) {
+        this.recoveryWindows = recoveryWindows;
+    }
+
+    /**
+     * Gets the governor holding the current degradation level and load metrics.
+     * 
+     * @return the governor, or null unless adaptive mode is active
+     */
+    public LoadGovernor getLoadGovernor() {
+        return governor;
+    }
+
+    /**
+     * Sets the overflow policy and optionally the queue size of one sink.
+     * 
+     * @param entry the options as {@code appenderName=POLICY} or {@code appenderName=POLICY:queueSize}
+     */
+    public void addSink(String entry) {
+        int separator = entry.indexOf('=');
+        if (separator <= 0) {
+            addError("Expected appenderName=POLICY[:queueSize] but got [" + entry + "]");
+            return;
+        }
+        String name = entry.substring(0, separator).trim();
+        String[] options = entry.substring(separator + 1).trim().split(":");
+        try {
+            OverflowPolicy policy = OverflowPolicy.valueOf(options[0].trim().toUpperCase());
+            int size = options.length > 1 ? Integer.parseInt(options[1].trim()) : 0;
+            sinkOptions.put(name, new SinkOptions(policy, size));
+        } catch (IllegalArgumentException e) {
+            addError("Invalid sink options [" + entry + "]", e);
+        }
+    }
+
+    /**
+     * Gets the fan-out workers, one per attached appender, for reading queue and lag metrics.
+     * Empty unless fan-out mode is active.
+     * 
+     * @return the sink workers
+     */
+    public List<SinkWorker> getSinkWorkers() {
+        return List.copyOf(workers);
+    }
+
+    @Override
+    public void start() {
+        synchronized (this) {
+            if (output == OutputMode.AUTO) {
+                output = OutputMode.detect(formatter.getTheme());
+            }
+            formatter = formatter.forOutput(output);
+        }
+        if (fanOut) {
+            Iterator<Appender<ILoggingEvent>> it = attachable.iteratorForAppenders();
+            while (it.hasNext()) {
+                startWorker(it.next());
+            }
+        }
+        if (stackWalkerCallerData) {
+            LoggerContext loggerContext = getContext() instanceof LoggerContext ? (LoggerContext) getContext() : null;
+            callerLocator = loggerContext == null ? new CallerLocator(List.of(), ClassicConstants.DEFAULT_MAX_CALLEDER_DATA_DEPTH)
+                    : new CallerLocator(loggerContext.getFrameworkPackages(), loggerContext.getMaxCallerDataDepth());
+        }
+        if (adaptive) {
+            governor = new LoadGovernor(adaptiveWindow, maxEventRate, maxAppendLatency, recoveryWindows, System.nanoTime());
+        }
+        super.start();
     }
 
     @Override
     protected void append(ILoggingEvent eventObject) {
-        // wrap event message with emojis/colors based on config
-        Vivid4jLoggingEvent wrapped = new Vivid4jLoggingEvent(eventObject, theme, colorEnabled);
-        attachable.appendLoopOnAppenders(wrapped);
+        JfrEvents.Append recorded = JfrEvents.append();
+        recorded.started();
+        LoadGovernor current = governor;
+        if (current == null) {
+            // wrap event message with emojis/colors based on config
+            MessageFormatter snapshot = formatter;
+            ILoggingEvent event = new Vivid4jLoggingEvent(eventObject, snapshot, callerLocator);
+            recorded.formatted();
+            deliver(event);
+            recorded.finished(eventObject, snapshot.getTheme().name(), DegradationLevel.FULL.name());
+            return;
+        }
+        long start = System.nanoTime();
+        DegradationLevel before = current.getLevel();
+        DegradationLevel changed = current.onEvent(start);
+        if (changed != null) {
+            announce(before, changed, current);
+        }
+        DegradationLevel level = current.getLevel();
+        if (level == DegradationLevel.SHED_VERBOSE && !eventObject.getLevel().isGreaterOrEqual(Level.INFO)) {
+            current.onShed();
+            return;
+        }
+        MessageFormatter snapshot = switch (level) {
+            case FULL -> formatter;
+            case MINIMAL -> formatter.minimal();
+            case PLAIN, SHED_VERBOSE -> null;
+        };
+        ILoggingEvent event = snapshot == null ? eventObject : new Vivid4jLoggingEvent(eventObject, snapshot, callerLocator);
+        recorded.formatted();
+        if (deliver(event)) {
+            current.onDelivered(System.nanoTime() - start);
+        }
+        recorded.finished(eventObject, snapshot == null ? "NONE" : snapshot.getTheme().name(), level.name());
+    }
+
+    /**
+     * Appends the event to the sinks, or queues it for the sink workers in fan-out mode.
+     *
+     * @return true if the sinks were called on this thread, false if the event was queued
+     */
+    private boolean deliver(ILoggingEvent event) {
+        if (workers.isEmpty()) {
+            attachable.appendLoopOnAppenders(event);
+            return true;
+        }
+        // resolve caller data while the caller is still on this stack, then freeze thread-bound
+        // data once, so every sink can read the shared event from its own thread
+        if (includeCallerData || callerLocator != null) {
+            event.getCallerData();
+        }
+        event.prepareForDeferredProcessing();
+        for (SinkWorker worker : workers) {
+            worker.enqueue(event);
+        }
+        return false;
+    }
+
+    /**
+     * Feeds the governor the queueing plus append time a sink worker measured, since in fan-out
+     * mode the logging thread only sees the time to enqueue.
+     */
+    private void onSinkDelivered(long nanos) {
+        LoadGovernor current = governor;
+        if (current != null) {
+            current.onDelivered(nanos);
+        }
+    }
+
+    /**
+     * Logs a level change as a single decorated WARN line, whatever the new level.
+     */
+    private void announce(DegradationLevel from, DegradationLevel to, LoadGovernor current) {
+        boolean down = to.ordinal() > from.ordinal();
+        String message = String.format("Logging load %s (%.0f events/s, %d us per append): decoration %s from %s to %s",
+                down ? "high" : "eased", current.getEventRate(), current.getAppendLatencyMicros(),
+                down ? "reduced" : "raised", from, to);
+        LoggingEvent event;
+        if (getContext() instanceof LoggerContext) {
+            // a context-bound event, so MDC and deferred processing work like for any other event
+            LoggerContext loggerContext = (LoggerContext) getContext();
+            event = new LoggingEvent(FQCN, loggerContext.getLogger(FQCN), Level.WARN, message, null, null);
+        } else {
+            event = new LoggingEvent();
+            event.setLevel(Level.WARN);
+            event.setLoggerName(FQCN);
+            event.setThreadName(Thread.currentThread().getName());
+            event.setTimeStamp(System.currentTimeMillis());
+            event.setMessage(message);
+            event.setMDCPropertyMap(Collections.emptyMap());
+        }
+        deliver(new Vivid4jLoggingEvent(event, formatter));
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        for (SinkWorker worker : workers) {
+            int discarded = worker.stop(maxFlushTime);
+            if (discarded > 0) {
+                addWarn("Sink [" + worker.getAppender().getName() + "] did not drain within "
+                        + maxFlushTime + " ms; " + discarded + " events discarded");
+            }
+            if (worker.isAlive()) {
+                addWarn("Sink [" + worker.getAppender().getName() + "] is still busy with an event while stopping");
+            }
+        }
+        workers.clear();
+        // stop attached sinks so buffered output (e.g. compressed files) is finished and closed
+        attachable.detachAndStopAllAppenders();
+    }
+
+    private void startWorker(Appender<ILoggingEvent> appender) {
+        SinkOptions options = sinkOptions.get(appender.getName());
+        OverflowPolicy policy = options != null ? options.policy : overflowPolicy;
+        int size = options != null && options.queueSize > 0 ? options.queueSize : queueSize;
+        workers.add(new SinkWorker(appender, Math.max(1, size), policy, virtualThreads, this::onSinkDelivered));
+    }
+
+    private void stopWorker(Appender<ILoggingEvent> appender) {
+        for (SinkWorker worker : workers) {
+            if (worker.getAppender() == appender) {
+                workers.remove(worker);
+                worker.stop(maxFlushTime);
+            }
+        }
+    }
+
+    private static final class SinkOptions {
+        final OverflowPolicy policy;
+        final int queueSize;
+
+        SinkOptions(OverflowPolicy policy, int queueSize) {
+            this.policy = policy;
+            this.queueSize = queueSize;
+        }
     }
 
     // AppenderAttachable methods (enable <appender-ref/>)
     @Override
     public void addAppender(Appender<ILoggingEvent> newAppender) {
         attachable.addAppender(newAppender);
+        if (fanOut && isStarted()) {
+            startWorker(newAppender);
+        }
     }
     @Override
     public Appender<ILoggingEvent> getAppender(String name) {
@@ -62,14 +460,22 @@ public class Vivid4jLogAppender extends AppenderBase<ILoggingEvent>
     }
     @Override
     public void detachAndStopAllAppenders() {
+        for (SinkWorker worker : workers) {
+            stopWorker(worker.getAppender());
+        }
         attachable.detachAndStopAllAppenders();
     }
     @Override
     public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        stopWorker(appender);
         return attachable.detachAppender(appender);
     }
     @Override
     public boolean detachAppender(String name) {
+        Appender<ILoggingEvent> appender = attachable.getAppender(name);
+        if (appender != null) {
+            stopWorker(appender);
+        }
         return attachable.detachAppender(name);
     }
     @Override
@@ -1,10 +1,11 @@
 package io.github.h3yzack.vivid4jlog.appender;
 
 import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.CallerData;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
 import ch.qos.logback.classic.spi.LoggerContextVO;
-import io.github.h3yzack.vivid4jlog.theme.AnsiColors;
+import io.github.h3yzack.vivid4jlog.format.MessageFormatter;
 import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
 
 import org.slf4j.Marker;
@@ -22,6 +23,11 @@ public class Vivid4jLoggingEvent implements ILoggingEvent {
     
     private final ILoggingEvent originalEvent;
     private final String formattedMessage;
+    private final CallerLocator callerLocator;
+    // located on the logging thread before the event is handed to other threads, then only read
+    private volatile StackTraceElement[] callerData;
+    // set once handed over; the stack of any later reader is not the caller's
+    private volatile boolean deferred;
     
     /**
      * Creates a formatted logging event wrapper.
@@ -31,31 +37,39 @@ public class Vivid4jLoggingEvent implements ILoggingEvent {
      * @param applyColors whether to apply ANSI colors
      */
     public Vivid4jLoggingEvent(ILoggingEvent originalEvent, EmojiTheme theme, boolean applyColors) {
+        this(originalEvent, MessageFormatter.of(theme, applyColors, "", ""));
+    }
+    
+    /**
+     * Creates a formatted logging event wrapper using a formatter snapshot.
+     * 
+     * @param originalEvent the original logging event
+     * @param formatter the formatter holding theme and color settings
+     */
+    public Vivid4jLoggingEvent(ILoggingEvent originalEvent, MessageFormatter formatter) {
+        this(originalEvent, formatter, null);
+    }
+
+    /**
+     * Creates a formatted logging event wrapper that locates its own caller data.
+     * 
+     * @param originalEvent the original logging event
+     * @param formatter the formatter holding theme and color settings
+     * @param callerLocator locates caller data on first request, or null to use the original event's
+     */
+    Vivid4jLoggingEvent(ILoggingEvent originalEvent, MessageFormatter formatter, CallerLocator callerLocator) {
         this.originalEvent = originalEvent;
-        this.formattedMessage = formatMessage(originalEvent, theme, applyColors);
+        this.formattedMessage = formatter.format(originalEvent.getLevel().toString(), originalEvent.getFormattedMessage());
+        this.callerLocator = callerLocator;
     }
     
     /**
-     * Formats the log message with emoji and optional colors.
+     * Gets the undecorated event this wrapper was created from.
+     * 
+     * @return the original logging event
      */
-    private String formatMessage(ILoggingEvent event, EmojiTheme theme, boolean applyColors) {
-        String level = event.getLevel().toString();
-        String originalMessage = event.getFormattedMessage();
-        
-        // Get emoji for the level
-        Map<String, String> emojiMap = theme.getEmojiMap();
-        String emoji = emojiMap.getOrDefault(level, " ");
-        
-        // Build the formatted message
-        String formattedMsg = emoji + originalMessage;
-        
-        // Apply colors if requested
-        if (applyColors) {
-            String color = AnsiColors.getColorForLevel(level);
-            formattedMsg = AnsiColors.colorize(formattedMsg, color);
-        }
-        
-        return formattedMsg;
+    public ILoggingEvent getOriginalEvent() {
+        return originalEvent;
     }
     
     @Override
@@ -96,12 +110,24 @@ public class Vivid4jLoggingEvent implements ILoggingEvent {
     
     @Override
     public StackTraceElement[] getCallerData() {
-        return originalEvent.getCallerData();
+        StackTraceElement[] located = callerData;
+        if (located != null || originalEvent.hasCallerData()) {
+            return located != null ? located : originalEvent.getCallerData();
+        }
+        if (deferred) {
+            return CallerData.EMPTY_CALLER_DATA_ARRAY;
+        }
+        if (callerLocator == null) {
+            return originalEvent.getCallerData();
+        }
+        located = callerLocator.locate();
+        callerData = located;
+        return located;
     }
     
     @Override
     public boolean hasCallerData() {
-        return originalEvent.hasCallerData();
+        return callerData != null || originalEvent.hasCallerData();
     }
     
     @Override
@@ -143,6 +169,7 @@ public class Vivid4jLoggingEvent implements ILoggingEvent {
     @Override
     public void prepareForDeferredProcessing() {
         originalEvent.prepareForDeferredProcessing();
+        deferred = true;
     }
     
     @Override
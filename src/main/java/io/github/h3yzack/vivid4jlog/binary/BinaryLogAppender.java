@@ -0,0 +1,151 @@
+package io.github.h3yzack.vivid4jlog.binary;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.util.FileSize;
+
+/**
+ * Appender that writes compact binary records instead of text: a timestamp delta, the level
+ * (including SUCCESS and COMPLETED), dictionary ids for the template, logger and thread name,
+ * and typed arguments. Templates are written once per file, and no emoji or ANSI decoration
+ * reaches the disk; {@link BinaryLogRenderer} applies any theme and color setting at read time.
+ * <p>
+ * Attached to a {@code Vivid4jLogAppender} it records the undecorated template of each event:
+ * <pre>
+ *     &lt;appender name="BIN" class="io.github.h3yzack.vivid4jlog.binary.BinaryLogAppender"&gt;
+ *         &lt;file&gt;logs/app.v4jb&lt;/file&gt;
+ *     &lt;/appender&gt;
+ * </pre>
+ * Messages decorated by {@code Vivid4jLogger} or the SLF4J provider are stored without their
+ * color, prefix, emoji and suffix, so they are not decorated twice when rendered.
+ *
+ * @author Zuhaimi A.
+ */
+public class BinaryLogAppender extends AppenderBase<ILoggingEvent> {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int DEFAULT_MAX_DICTIONARY_SIZE = 8192;
+
+    private String fileName;
+    private boolean append = true;
+    private FileSize bufferSize = new FileSize(DEFAULT_BUFFER_SIZE);
+    private Level flushLevel = Level.ERROR;
+    private int maxDictionarySize = DEFAULT_MAX_DICTIONARY_SIZE;
+
+    private OutputStream stream;
+    private BinaryLogWriter writer;
+
+    /**
+     * Sets the path of the binary log file.
+     *
+     * @param file the file path
+     */
+    public void setFile(String file) {
+        this.fileName = file == null ? null : file.trim();
+    }
+
+    /**
+     * Gets the path of the binary log file.
+     *
+     * @return the file path
+     */
+    public String getFile() {
+        return fileName;
+    }
+
+    /**
+     * Sets whether to append to an existing file. Each start begins a new session in the file.
+     *
+     * @param append false to truncate the file on start
+     */
+    public void setAppend(boolean append) {
+        this.append = append;
+    }
+
+    /**
+     * Sets the size of the write buffer.
+     *
+     * @param bufferSize the buffer size
+     */
+    public void setBufferSize(FileSize bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Sets the level at or above which buffered records are flushed to the file.
+     *
+     * @param level the level name, or OFF to flush only when the buffer is full or on stop
+     */
+    public void setFlushLevel(String level) {
+        this.flushLevel = Level.toLevel(level, Level.ERROR);
+    }
+
+    /**
+     * Sets how many distinct strings are kept in the per-file dictionary.
+     * Messages logged without arguments are written inline rather than defined, and strings
+     * seen after the dictionary is full are written inline too, so non-constant messages
+     * cannot grow memory without limit.
+     *
+     * @param maxDictionarySize the maximum number of dictionary entries
+     */
+    public void setMaxDictionarySize(int maxDictionarySize) {
+        this.maxDictionarySize = maxDictionarySize;
+    }
+
+    @Override
+    public void start() {
+        if (fileName == null || fileName.isEmpty()) {
+            addError("No file set for the binary appender named [" + name + "].");
+            return;
+        }
+        try {
+            File file = new File(fileName);
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                addError("Failed to create parent directories for [" + file.getAbsolutePath() + "]");
+                return;
+            }
+            boolean writeMagic = !append || file.length() == 0;
+            stream = new BufferedOutputStream(new FileOutputStream(file, append), (int) bufferSize.getSize());
+            writer = new BinaryLogWriter(stream, writeMagic, Math.max(0, maxDictionarySize));
+        } catch (IOException e) {
+            addError("Failed to open binary log file [" + fileName + "]", e);
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        try {
+            writer.write(event);
+            if (event.getLevel().isGreaterOrEqual(flushLevel)) {
+                stream.flush();
+            }
+        } catch (IOException e) {
+            addError("Failed to write binary log record", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        try {
+            stream.close();
+        } catch (IOException e) {
+            addError("Failed to close binary log file [" + fileName + "]", e);
+        }
+        stream = null;
+        writer = null;
+    }
+}
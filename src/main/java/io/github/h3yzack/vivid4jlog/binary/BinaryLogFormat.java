@@ -0,0 +1,117 @@
+package io.github.h3yzack.vivid4jlog.binary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and primitive encoding shared by the binary log writer and reader.
+ * <p>
+ * A file starts with the magic bytes {@code V4JB} and a format version, followed by records.
+ * Each record starts with a tag byte:
+ * <ul>
+ *     <li>{@code SESSION}: base timestamp; resets the dictionary and the timestamp base.
+ *     Written whenever an appender (re)opens the file.</li>
+ *     <li>{@code STRING}: dictionary entry (id, UTF-8 text) for a template, logger or thread name,
+ *     written once before its first use. Only templates logged with arguments are defined.</li>
+ *     <li>{@code EVENT}: timestamp delta, level ordinal, logger/thread/template ids,
+ *     typed arguments and an optional throwable. Id 0 means the string follows inline.</li>
+ * </ul>
+ * Integers are unsigned LEB128 varints; signed values are zigzag encoded first.
+ *
+ * @author Zuhaimi A.
+ */
+final class BinaryLogFormat {
+
+    static final byte[] MAGIC = {'V', '4', 'J', 'B'};
+    static final int VERSION = 1;
+
+    static final int TAG_SESSION = 1;
+    static final int TAG_STRING = 2;
+    static final int TAG_EVENT = 3;
+
+    static final int ARG_NULL = 0;
+    static final int ARG_LONG = 1;
+    static final int ARG_DOUBLE = 2;
+    static final int ARG_BOOLEAN = 3;
+    static final int ARG_STRING = 4;
+
+    private BinaryLogFormat() {
+    }
+
+    static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static void writeSignedVarLong(OutputStream out, long value) throws IOException {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static void writeLong(OutputStream out, long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Truncated binary log record");
+        }
+        return b;
+    }
+
+    static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte(in);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in binary log");
+    }
+
+    static int readVarInt(InputStream in) throws IOException {
+        long value = readVarLong(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Value out of range in binary log: " + value);
+        }
+        return (int) value;
+    }
+
+    static long readSignedVarLong(InputStream in) throws IOException {
+        long value = readVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static String readString(InputStream in) throws IOException {
+        int length = readVarInt(in);
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException("Truncated string in binary log");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static long readLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | readByte(in);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.h3yzack.vivid4jlog.binary;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+
+import static io.github.h3yzack.vivid4jlog.binary.BinaryLogFormat.*;
+
+/**
+ * Reads records from a file written by {@link BinaryLogAppender}.
+ * Usage:
+ * <pre>
+ *     try (BinaryLogReader reader = BinaryLogReader.open(Path.of("logs/app.v4jb"))) {
+ *         BinaryLogRecord record;
+ *         while ((record = reader.next()) != null) {
+ *             System.out.println(record.getFormattedMessage());
+ *         }
+ *     }
+ * </pre>
+ * A record cut short at the end of the file (e.g. the writer is still running) ends the stream.
+ *
+ * @author Zuhaimi A.
+ */
+public class BinaryLogReader implements Closeable {
+
+    private static final VividLevel[] LEVELS = VividLevel.values();
+
+    private final InputStream in;
+    private final List<String> dictionary = new ArrayList<>();
+    private long lastTimestamp;
+
+    /**
+     * Creates a reader over a stream positioned at the start of a binary log file.
+     *
+     * @param in the input stream
+     * @throws IOException if the stream is not a binary log
+     */
+    public BinaryLogReader(InputStream in) throws IOException {
+        this.in = in;
+        byte[] magic = in.readNBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a vivid4jlog binary log");
+        }
+        int version = in.read();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary log version " + version);
+        }
+    }
+
+    /**
+     * Opens a binary log file.
+     *
+     * @param file the file to read
+     * @return the reader
+     * @throws IOException if the file cannot be opened or is not a binary log
+     */
+    public static BinaryLogReader open(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file));
+        try {
+            return new BinaryLogReader(in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the record, or null at the end of the file
+     * @throws IOException if the file is corrupt or cannot be read
+     */
+    public BinaryLogRecord next() throws IOException {
+        while (true) {
+            int tag = in.read();
+            if (tag < 0) {
+                return null;
+            }
+            try {
+                switch (tag) {
+                    case TAG_SESSION -> {
+                        lastTimestamp = readLong(in);
+                        dictionary.clear();
+                    }
+                    case TAG_STRING -> {
+                        int id = readVarInt(in);
+                        String value = readString(in);
+                        if (id != dictionary.size() + 1) {
+                            throw new IOException("Unexpected dictionary id " + id);
+                        }
+                        dictionary.add(value);
+                    }
+                    case TAG_EVENT -> {
+                        return readEvent();
+                    }
+                    default -> throw new IOException("Unknown record tag " + tag);
+                }
+            } catch (EOFException e) {
+                // partially written last record
+                return null;
+            }
+        }
+    }
+
+    private BinaryLogRecord readEvent() throws IOException {
+        long timestamp = lastTimestamp + readSignedVarLong(in);
+        lastTimestamp = timestamp;
+        int levelOrdinal = readByte(in);
+        if (levelOrdinal >= LEVELS.length) {
+            throw new IOException("Unknown level ordinal " + levelOrdinal);
+        }
+        String loggerName = readRef();
+        String threadName = readRef();
+        String template = readRef();
+        int count = readVarInt(in);
+        Object[] arguments = new Object[count];
+        for (int i = 0; i < count; i++) {
+            arguments[i] = readArgument();
+        }
+        String throwable = readByte(in) == 1 ? readString(in) : null;
+        return new BinaryLogRecord(timestamp, LEVELS[levelOrdinal], loggerName, threadName, template, arguments,
+                throwable);
+    }
+
+    private String readRef() throws IOException {
+        int id = readVarInt(in);
+        if (id == 0) {
+            return readString(in);
+        }
+        if (id > dictionary.size()) {
+            throw new IOException("Undefined dictionary id " + id);
+        }
+        return dictionary.get(id - 1);
+    }
+
+    private Object readArgument() throws IOException {
+        int type = readByte(in);
+        return switch (type) {
+            case ARG_NULL -> null;
+            case ARG_LONG -> readSignedVarLong(in);
+            case ARG_DOUBLE -> Double.longBitsToDouble(readLong(in));
+            case ARG_BOOLEAN -> readByte(in) != 0;
+            case ARG_STRING -> readString(in);
+            default -> throw new IOException("Unknown argument type " + type);
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.h3yzack.vivid4jlog.binary;
+
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+
+/**
+ * One event read back from a binary log file.
+ *
+ * @author Zuhaimi A.
+ */
+public class BinaryLogRecord {
+
+    private final long timestamp;
+    private final VividLevel level;
+    private final String loggerName;
+    private final String threadName;
+    private final String template;
+    private final Object[] arguments;
+    private final String throwable;
+
+    BinaryLogRecord(long timestamp, VividLevel level, String loggerName, String threadName, String template,
+            Object[] arguments, String throwable) {
+        this.timestamp = timestamp;
+        this.level = level;
+        this.loggerName = loggerName;
+        this.threadName = threadName;
+        this.template = template;
+        this.arguments = arguments;
+        this.throwable = throwable;
+    }
+
+    /**
+     * Gets the event time.
+     *
+     * @return milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the level, including the custom SUCCESS and COMPLETED levels.
+     *
+     * @return the level
+     */
+    public VividLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the logger name.
+     *
+     * @return the logger name
+     */
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    /**
+     * Gets the name of the thread that logged the event.
+     *
+     * @return the thread name
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * Gets the message template with {@code {}} placeholders.
+     *
+     * @return the template
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets the arguments. Integral numbers come back as {@code Long}, floating point numbers
+     * as {@code Double}, booleans as {@code Boolean} and everything else as its string form.
+     *
+     * @return the arguments, possibly empty
+     */
+    public Object[] getArguments() {
+        return arguments.clone();
+    }
+
+    /**
+     * Gets the message with arguments substituted into the template.
+     *
+     * @return the formatted message
+     */
+    public String getFormattedMessage() {
+        if (arguments.length == 0) {
+            return template;
+        }
+        return org.slf4j.helpers.MessageFormatter.basicArrayFormat(template, arguments);
+    }
+
+    /**
+     * Gets the rendered stack trace of the logged exception.
+     *
+     * @return the stack trace text, or null if none was logged
+     */
+    public String getThrowable() {
+        return throwable;
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.h3yzack.vivid4jlog.binary;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.h3yzack.vivid4jlog.format.MessageFormatter;
+import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+
+/**
+ * Renders binary log records as vivid text, choosing the theme and color setting at read time.
+ * Can be used as a library or from the command line:
+ * <pre>
+ *     java -cp vivid4jlog.jar:... io.github.h3yzack.vivid4jlog.binary.BinaryLogRenderer \
+ *          [--theme NATURE] [--no-color] logs/app.v4jb [more files]
+ * </pre>
+ * Lines follow the layout {@code yyyy-MM-dd HH:mm:ss.SSS [thread] LEVEL logger - message}.
+ *
+ * @author Zuhaimi A.
+ */
+public class BinaryLogRenderer {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final MessageFormatter formatter;
+
+    /**
+     * Creates a renderer.
+     *
+     * @param theme the emoji theme to render with
+     * @param colorEnabled whether to apply ANSI colors
+     */
+    public BinaryLogRenderer(EmojiTheme theme, boolean colorEnabled) {
+        this(MessageFormatter.of(theme, colorEnabled, "", ""));
+    }
+
+    /**
+     * Creates a renderer using an existing formatter, e.g. one with a custom prefix.
+     *
+     * @param formatter the formatter to decorate messages with
+     */
+    public BinaryLogRenderer(MessageFormatter formatter) {
+        this.formatter = formatter;
+    }
+
+    /**
+     * Renders one record as a line of text, followed by the stack trace if one was logged.
+     *
+     * @param record the record to render
+     * @return the rendered text, without a trailing line separator
+     */
+    public String render(BinaryLogRecord record) {
+        StringBuilder line = new StringBuilder(128);
+        TIME_FORMAT.formatTo(Instant.ofEpochMilli(record.getTimestamp()), line);
+        line.append(" [").append(record.getThreadName()).append("] ");
+        line.append(String.format("%-5s", record.getLevel().name())).append(' ');
+        line.append(record.getLoggerName()).append(" - ");
+        formatter.formatTo(line, record.getLevel().name(), record.getFormattedMessage());
+        if (record.getThrowable() != null) {
+            line.append(System.lineSeparator()).append(record.getThrowable().stripTrailing());
+        }
+        return line.toString();
+    }
+
+    /**
+     * Renders every record of a reader.
+     *
+     * @param reader the reader to drain
+     * @param out where to write the lines
+     * @return the number of records rendered
+     * @throws IOException if reading or writing fails
+     */
+    public long renderAll(BinaryLogReader reader, Appendable out) throws IOException {
+        long count = 0;
+        BinaryLogRecord record;
+        while ((record = reader.next()) != null) {
+            out.append(render(record)).append(System.lineSeparator());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Command line entry point.
+     *
+     * @param args {@code [--theme NAME] [--color|--no-color] file...}
+     * @throws IOException if a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        EmojiTheme theme = EmojiTheme.CLASSIC;
+        boolean color = true;
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--theme" -> {
+                    if (i + 1 >= args.length) {
+                        usage();
+                        return;
+                    }
+                    theme = EmojiTheme.fromString(args[++i]);
+                }
+                case "--color" -> color = true;
+                case "--no-color" -> color = false;
+                default -> files.add(Path.of(args[i]));
+            }
+        }
+        if (files.isEmpty()) {
+            usage();
+            return;
+        }
+        BinaryLogRenderer renderer = new BinaryLogRenderer(theme, color);
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try {
+            for (Path file : files) {
+                try (BinaryLogReader reader = BinaryLogReader.open(file)) {
+                    renderer.renderAll(reader, out);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: BinaryLogRenderer [--theme NAME] [--color|--no-color] file...");
+    }
+}
@@ -0,0 +1,199 @@
+package io.github.h3yzack.vivid4jlog.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import io.github.h3yzack.vivid4jlog.appender.Vivid4jLoggingEvent;
+import io.github.h3yzack.vivid4jlog.config.Vivid4jLogConfig;
+import io.github.h3yzack.vivid4jlog.format.MessageFormatter;
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+
+import static io.github.h3yzack.vivid4jlog.binary.BinaryLogFormat.*;
+
+/**
+ * Encodes logging events into the binary log format described in {@link BinaryLogFormat}.
+ * Not thread-safe; {@link BinaryLogAppender} serializes access.
+ *
+ * @author Zuhaimi A.
+ */
+class BinaryLogWriter {
+
+    private final OutputStream target;
+    // each event and its new dictionary entries are encoded here first, so a failure
+    // part way through never leaves a half-written record in the file
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+    private final int maxDictionarySize;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> pendingDefinitions = new ArrayList<>();
+    private long lastTimestamp;
+
+    /**
+     * Starts a new session on the stream.
+     *
+     * @param target the stream to write to
+     * @param writeMagic true when the stream is at the start of a new file
+     * @param maxDictionarySize strings beyond this many dictionary entries are written inline
+     */
+    BinaryLogWriter(OutputStream target, boolean writeMagic, int maxDictionarySize) throws IOException {
+        this.target = target;
+        this.maxDictionarySize = maxDictionarySize;
+        if (writeMagic) {
+            target.write(MAGIC);
+            target.write(VERSION);
+        }
+        lastTimestamp = System.currentTimeMillis();
+        target.write(TAG_SESSION);
+        writeLong(target, lastTimestamp);
+    }
+
+    void write(ILoggingEvent event) throws IOException {
+        out.reset();
+        pendingDefinitions.clear();
+        try {
+            encode(event);
+        } catch (IOException | RuntimeException e) {
+            // the definitions were never written, so forget them
+            pendingDefinitions.forEach(dictionary::remove);
+            throw e;
+        }
+        out.writeTo(target);
+        lastTimestamp = event.getTimeStamp();
+    }
+
+    private void encode(ILoggingEvent event) throws IOException {
+        // under Vivid4jLogAppender the event carries the decorated text; record the raw template instead
+        ILoggingEvent raw = event instanceof Vivid4jLoggingEvent ? ((Vivid4jLoggingEvent) event).getOriginalEvent() : event;
+
+        VividLevel level = levelOf(raw);
+        // Vivid4jLogger and the SLF4J provider decorate the template before Logback sees it
+        Vivid4jLogConfig config = Vivid4jLogConfig.getInstance();
+        String template = raw.getMessage() == null ? "null"
+                : MessageFormatter.undecorate(level, raw.getMessage(), config.getCustomPrefix(), config.getCustomSuffix());
+        Object[] args = raw.getArgumentArray();
+        int count = args == null ? 0 : args.length;
+        int loggerId = define(raw.getLoggerName());
+        int threadId = define(raw.getThreadName());
+        // a message without arguments is usually built by the caller and never repeats, so it
+        // goes inline unless already defined, keeping the dictionary for real templates
+        int templateId = count > 0 ? define(template) : dictionary.getOrDefault(template, 0);
+
+        out.write(TAG_EVENT);
+        writeSignedVarLong(out, raw.getTimeStamp() - lastTimestamp);
+        out.write(level.ordinal());
+        writeRef(loggerId, raw.getLoggerName());
+        writeRef(threadId, raw.getThreadName());
+        writeRef(templateId, template);
+
+        writeVarLong(out, count);
+        for (int i = 0; i < count; i++) {
+            writeArgument(args[i]);
+        }
+
+        IThrowableProxy proxy = raw.getThrowableProxy();
+        if (proxy == null) {
+            out.write(0);
+        } else {
+            out.write(1);
+            writeString(out, ThrowableProxyUtil.asString(proxy));
+        }
+    }
+
+    /**
+     * Returns the dictionary id of a string, writing its definition first if it is new.
+     * Returns 0 once the dictionary is full, meaning the string is written inline.
+     */
+    private int define(String value) throws IOException {
+        if (value == null) {
+            value = "";
+        }
+        Integer id = dictionary.get(value);
+        if (id != null) {
+            return id;
+        }
+        if (dictionary.size() >= maxDictionarySize) {
+            return 0;
+        }
+        int newId = dictionary.size() + 1;
+        dictionary.put(value, newId);
+        pendingDefinitions.add(value);
+        out.write(TAG_STRING);
+        writeVarLong(out, newId);
+        writeString(out, value);
+        return newId;
+    }
+
+    private void writeRef(int id, String value) throws IOException {
+        writeVarLong(out, id);
+        if (id == 0) {
+            writeString(out, value == null ? "" : value);
+        }
+    }
+
+    private void writeArgument(Object arg) throws IOException {
+        if (arg == null) {
+            out.write(ARG_NULL);
+        } else if (arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+            out.write(ARG_LONG);
+            writeSignedVarLong(out, ((Number) arg).longValue());
+        } else if (arg instanceof Double || arg instanceof Float) {
+            out.write(ARG_DOUBLE);
+            writeLong(out, Double.doubleToRawLongBits(((Number) arg).doubleValue()));
+        } else if (arg instanceof Boolean) {
+            out.write(ARG_BOOLEAN);
+            out.write((Boolean) arg ? 1 : 0);
+        } else {
+            out.write(ARG_STRING);
+            writeString(out, asText(arg));
+        }
+    }
+
+    // arrays as SLF4J renders them in messages
+    private static String asText(Object arg) {
+        if (!arg.getClass().isArray()) {
+            return String.valueOf(arg);
+        } else if (arg instanceof Object[]) {
+            return Arrays.deepToString((Object[]) arg);
+        } else if (arg instanceof boolean[]) {
+            return Arrays.toString((boolean[]) arg);
+        } else if (arg instanceof byte[]) {
+            return Arrays.toString((byte[]) arg);
+        } else if (arg instanceof char[]) {
+            return Arrays.toString((char[]) arg);
+        } else if (arg instanceof short[]) {
+            return Arrays.toString((short[]) arg);
+        } else if (arg instanceof int[]) {
+            return Arrays.toString((int[]) arg);
+        } else if (arg instanceof long[]) {
+            return Arrays.toString((long[]) arg);
+        } else if (arg instanceof float[]) {
+            return Arrays.toString((float[]) arg);
+        }
+        return Arrays.toString((double[]) arg);
+    }
+
+    private static VividLevel levelOf(ILoggingEvent event) {
+        org.slf4j.event.Level level = org.slf4j.event.Level.intToLevel(Level.toLocationAwareLoggerInteger(event.getLevel()));
+        List<Marker> markers = event.getMarkerList();
+        if (markers != null) {
+            for (Marker marker : markers) {
+                VividLevel vividLevel = VividLevel.of(level, marker);
+                if (vividLevel.isCustom()) {
+                    return vividLevel;
+                }
+            }
+        }
+        return VividLevel.of(level, null);
+    }
+}
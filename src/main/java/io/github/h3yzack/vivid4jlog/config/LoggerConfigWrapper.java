@@ -1,6 +1,8 @@
 package io.github.h3yzack.vivid4jlog.config;
 
+import io.github.h3yzack.vivid4jlog.format.MessageLimits;
 import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+import io.github.h3yzack.vivid4jlog.theme.OutputMode;
 
 /**
  * Configuration wrapper that allows per-logger overrides while falling back to global configuration.
@@ -10,7 +12,8 @@ import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
  */
 public class LoggerConfigWrapper {
     private final Vivid4jLogConfig globalConfig;
-    private Boolean colorEnabledOverride = null;
+    private final Runnable changeListener;
+    private volatile Boolean colorEnabledOverride = null;
 
     /**
      * Creates a configuration wrapper.
@@ -18,7 +21,23 @@ public class LoggerConfigWrapper {
      * @param globalConfig the global configuration to wrap
      */
     public LoggerConfigWrapper(Vivid4jLogConfig globalConfig) {
+        this(globalConfig, null);
+    }
+    
+    /**
+     * Creates a configuration wrapper that reports changes, so the owner can push a new
+     * snapshot instead of checking for changes on every call.
+     * 
+     * @param globalConfig the global configuration to wrap
+     * @param changeListener called after an override or the global configuration changes, may be null;
+     *        may already be called before this constructor returns to its caller
+     */
+    public LoggerConfigWrapper(Vivid4jLogConfig globalConfig, Runnable changeListener) {
         this.globalConfig = globalConfig;
+        this.changeListener = changeListener;
+        if (changeListener != null) {
+            globalConfig.addListener(this);
+        }
     }
     
     /**
@@ -29,9 +48,16 @@ public class LoggerConfigWrapper {
      */
     public LoggerConfigWrapper setColorEnabled(boolean enabled) {
         this.colorEnabledOverride = enabled;
+        if (changeListener != null) {
+            changeListener.run();
+        }
         return this;
     }
     
+    void globalChanged() {
+        changeListener.run();
+    }
+    
     /**
      * Checks if colors are enabled, using override if set, otherwise global config.
      * 
@@ -62,6 +88,27 @@ public class LoggerConfigWrapper {
      */
     public String getCustomSuffix() { return globalConfig.getCustomSuffix(); }
     
+    /**
+     * Gets the message and argument byte limits from global config.
+     * 
+     * @return the message limits
+     */
+    public MessageLimits getMessageLimits() { return globalConfig.getMessageLimits(); }
+    
+    /**
+     * Gets the resolved output mode from global configuration.
+     * 
+     * @return the output mode, never {@link OutputMode#AUTO}
+     */
+    public OutputMode getOutputMode() { return globalConfig.getOutputMode(); }
+    
+    /**
+     * Gets the change counter of the global config.
+     * 
+     * @return the global configuration version
+     */
+    public int getVersion() { return globalConfig.getVersion(); }
+    
     /**
      * Determines if colors should be applied to log output.
      * 
@@ -2,9 +2,19 @@ package io.github.h3yzack.vivid4jlog.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
 
+import io.github.h3yzack.vivid4jlog.format.MessageLimits;
+import io.github.h3yzack.vivid4jlog.format.TemplateCache;
+import io.github.h3yzack.vivid4jlog.level.CustomLevelThresholds;
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
 import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+import io.github.h3yzack.vivid4jlog.theme.OutputMode;
 
 /**
  * Global configuration class for Vivid4jLog.
@@ -15,15 +25,29 @@ import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
  */
 public class Vivid4jLogConfig {
     private static final String CONFIG_FILE = "vivid4jlog.properties";
+    private static final String LEVEL_PREFIX = "vivid4jlog.level.";
     private static final Vivid4jLogConfig INSTANCE = new Vivid4jLogConfig();
     
-    private EmojiTheme defaultTheme = EmojiTheme.CLASSIC;
-    private boolean colorEnabled = true; // Default enabled as requested
-    private String customPrefix = "";
-    private String customSuffix = "";
+    // volatile: settings may be changed at runtime while other threads are logging
+    private volatile EmojiTheme defaultTheme = EmojiTheme.CLASSIC;
+    private volatile boolean colorEnabled = true; // Default enabled as requested
+    private volatile String customPrefix = "";
+    private volatile String customSuffix = "";
+    private volatile MessageLimits messageLimits = MessageLimits.NONE;
+    // AUTO is resolved when set, so formatters only ever see a concrete mode
+    private volatile OutputMode outputMode = OutputMode.FULL;
+    private volatile int version;
+    // wrappers told about changes; held weakly, so loggers nobody uses can still be collected
+    private final Set<LoggerConfigWrapper> listeners = Collections.newSetFromMap(new WeakHashMap<>());
+    private final CustomLevelThresholds customLevelThresholds = new CustomLevelThresholds();
+    // read from the properties file before the cache is created
+    private boolean templateCacheEnabled = true;
+    private int templateCacheSize = TemplateCache.DEFAULT_SIZE;
+    private final TemplateCache templateCache;
     
     private Vivid4jLogConfig() {
         loadConfig();
+        this.templateCache = new TemplateCache(templateCacheSize, templateCacheEnabled);
     }
     
     /**
@@ -49,14 +73,74 @@ public class Vivid4jLogConfig {
                 this.defaultTheme = EmojiTheme.fromString(themeStr);
                 
                 this.colorEnabled = Boolean.parseBoolean(props.getProperty("vivid4jlog.color.enabled", "true"));
+                String outputName = props.getProperty("vivid4jlog.output", "full");
+                OutputMode mode = OutputMode.fromString(outputName);
+                if (mode == null) {
+                    // there is no logging context yet to report to
+                    System.err.println("vivid4jlog: unknown vivid4jlog.output [" + outputName + "], keeping " + outputMode);
+                } else {
+                    this.outputMode = resolve(mode);
+                }
                 this.customPrefix = props.getProperty("vivid4jlog.custom.prefix", "");
                 this.customSuffix = props.getProperty("vivid4jlog.custom.suffix", "");
+                this.templateCacheEnabled = Boolean.parseBoolean(props.getProperty("vivid4jlog.template.cache.enabled", "true"));
+                try {
+                    this.templateCacheSize = Integer.parseInt(props.getProperty("vivid4jlog.template.cache.size",
+                            String.valueOf(TemplateCache.DEFAULT_SIZE)).trim());
+                } catch (NumberFormatException e) {
+                    // Keep the default size
+                }
+                this.messageLimits = MessageLimits.of(
+                        parseInt(props.getProperty("vivid4jlog.limit.message.bytes"), 0),
+                        parseInt(props.getProperty("vivid4jlog.limit.argument.bytes"), 0),
+                        Boolean.parseBoolean(props.getProperty("vivid4jlog.limit.chunked", "false")));
+                loadCustomLevelThresholds(props);
             }
         } catch (IOException e) {
             // Use defaults if config file is not found or cannot be read
         }
     }
     
+    private OutputMode resolve(OutputMode mode) {
+        if (mode == null) {
+            return outputMode;
+        }
+        return mode == OutputMode.AUTO ? OutputMode.detect(defaultTheme) : mode;
+    }
+    
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+    
+    /**
+     * Loads {@code vivid4jlog.level.success.<logger>} and {@code vivid4jlog.level.completed.<logger>} entries.
+     */
+    private void loadCustomLevelThresholds(Properties props) {
+        for (String key : props.stringPropertyNames()) {
+            if (!key.startsWith(LEVEL_PREFIX)) {
+                continue;
+            }
+            String rest = key.substring(LEVEL_PREFIX.length());
+            int dot = rest.indexOf('.');
+            VividLevel level = dot > 0 ? VividLevel.fromString(rest.substring(0, dot)) : null;
+            if (level == null || !level.isCustom()) {
+                continue;
+            }
+            try {
+                customLevelThresholds.setThreshold(level, rest.substring(dot + 1) + "=" + props.getProperty(key).trim());
+            } catch (IllegalArgumentException e) {
+                // Ignore invalid entries like other malformed settings
+            }
+        }
+    }
+    
     /**
      * Gets the default emoji theme.
      * 
@@ -85,33 +169,106 @@ public class Vivid4jLogConfig {
      */
     public String getCustomSuffix() { return customSuffix; }
     
+    /**
+     * Gets the per-logger thresholds for the SUCCESS and COMPLETED levels.
+     * 
+     * @return the custom level thresholds
+     */
+    public CustomLevelThresholds getCustomLevelThresholds() { return customLevelThresholds; }
+    
+    /**
+     * Gets the shared cache of decorated format templates.
+     * 
+     * @return the template cache
+     */
+    public TemplateCache getTemplateCache() { return templateCache; }
+    
+    /**
+     * Gets the byte limits applied to messages and arguments.
+     * 
+     * @return the message limits, {@link MessageLimits#NONE} by default
+     */
+    public MessageLimits getMessageLimits() { return messageLimits; }
+    
+    /**
+     * Gets the output mode formatters are built for.
+     * 
+     * @return the resolved output mode, {@link OutputMode#FULL} by default and never {@link OutputMode#AUTO}
+     */
+    public OutputMode getOutputMode() { return outputMode; }
+    
+    /**
+     * Gets the change counter, incremented after every setter call.
+     * Formatters remember the version they were built from; loggers are also told about
+     * every change through their {@link LoggerConfigWrapper}.
+     * 
+     * @return the current version
+     */
+    public int getVersion() { return version; }
+    
     /**
      * Sets the default theme.
      * 
      * @param theme the theme to set
      */
-    public void setDefaultTheme(EmojiTheme theme) { this.defaultTheme = theme; }
+    public void setDefaultTheme(EmojiTheme theme) { update(() -> this.defaultTheme = theme); }
     
     /**
      * Enables or disables color output.
      * 
      * @param enabled true to enable colors, false to disable
      */
-    public void setColorEnabled(boolean enabled) { this.colorEnabled = enabled; }
+    public void setColorEnabled(boolean enabled) { update(() -> this.colorEnabled = enabled); }
     
     /**
      * Sets the custom prefix for log messages.
      * 
      * @param prefix the prefix to set
      */
-    public void setCustomPrefix(String prefix) { this.customPrefix = prefix; }
+    public void setCustomPrefix(String prefix) { update(() -> this.customPrefix = prefix); }
     
     /**
      * Sets the custom suffix for log messages.
      * 
      * @param suffix the suffix to set
      */
-    public void setCustomSuffix(String suffix) { this.customSuffix = suffix; }
+    public void setCustomSuffix(String suffix) { update(() -> this.customSuffix = suffix); }
+    
+    /**
+     * Sets the output mode. {@link OutputMode#AUTO} is detected here, once, for the default theme.
+     * 
+     * @param mode the output mode to set; null keeps the current mode
+     */
+    public void setOutputMode(OutputMode mode) { update(() -> this.outputMode = resolve(mode)); }
+
+    /**
+     * Registers a wrapper to be told about every change of the settings formatters are built from.
+     */
+    void addListener(LoggerConfigWrapper wrapper) {
+        synchronized (listeners) {
+            listeners.add(wrapper);
+        }
+    }
+
+    private void update(Runnable change) {
+        synchronized (this) {
+            change.run();
+            version++;
+        }
+        List<LoggerConfigWrapper> current;
+        synchronized (listeners) {
+            current = new ArrayList<>(listeners);
+        }
+        // outside the lock, so loggers rebuilding their snapshot never wait on each other's changes
+        current.forEach(LoggerConfigWrapper::globalChanged);
+    }
+    
+    /**
+     * Sets the byte limits applied to messages and arguments.
+     * 
+     * @param limits the limits to set, {@link MessageLimits#NONE} to format without limits
+     */
+    public void setMessageLimits(MessageLimits limits) { this.messageLimits = limits == null ? MessageLimits.NONE : limits; }
     
     /**
      * Determines if colors should be applied based on configuration.
@@ -1,79 +1,378 @@
 package io.github.h3yzack.vivid4jlog.format;
 
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Comparator;
 
 import io.github.h3yzack.vivid4jlog.config.LoggerConfigWrapper;
+import io.github.h3yzack.vivid4jlog.jfr.JfrEvents;
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
 import io.github.h3yzack.vivid4jlog.theme.AnsiColors;
 import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+import io.github.h3yzack.vivid4jlog.theme.OutputMode;
 
 /**
  * Formats log messages with emoji and optional ANSI colors.
  * Supports different output formats for console and file logging.
- * 
+ * <p>
+ * A formatter is an immutable snapshot of theme, color and prefix/suffix settings with the
+ * decoration for every level precomputed, so formatting is a single concatenation.
+ * Changing settings means building a new snapshot (see {@link #withTheme(EmojiTheme)} and
+ * {@link #withColorEnabled(boolean)}) and publishing it through one volatile reference;
+ * readers then always see a complete, consistent set of settings.
+ *
  * @author Zuhaimi A.
  */
 public class MessageFormatter {
-    
+
+    private static final VividLevel[] LEVELS = VividLevel.values();
+    private static final String UNKNOWN_EMOJI = " ";
+    // the emoji of every theme, per VividLevel ordinal, longest first
+    private static final String[][] ALL_EMOJIS = allEmojis();
+
     private final EmojiTheme theme;
-    private final LoggerConfigWrapper config;
-    
+    private final boolean colorEnabled;
+    // no emoji at all, for output nobody looks at
+    private final boolean plain;
+    private final String customPrefix;
+    private final String customSuffix;
+    private final int configVersion;
+    private final MessageFormatter base;
+
+    // decoration before and after the message, indexed by VividLevel ordinal
+    private final String[] heads = new String[LEVELS.length];
+    private final String[] tails = new String[LEVELS.length];
+    private final String unknownHead;
+    private final String unknownTail;
+    // derived on first use; racing threads may build it twice, which is harmless
+    private volatile MessageFormatter minimal;
+
     /**
-     * Creates a message formatter with the specified theme and configuration.
-     * 
+     * Creates a message formatter with the specified theme and a snapshot of the configuration.
+     *
      * @param theme the emoji theme to use
      * @param config the logger configuration
      */
     public MessageFormatter(EmojiTheme theme, LoggerConfigWrapper config) {
+        // the version is read first, so a snapshot never claims to be newer than its settings
+        this(config.getVersion(), config.getOutputMode(), theme, config.shouldApplyColors(), config.getCustomPrefix(),
+                config.getCustomSuffix());
+    }
+
+    private MessageFormatter(int configVersion, OutputMode output, EmojiTheme theme, boolean colorEnabled,
+            String customPrefix, String customSuffix) {
+        this(configVersion, output == OutputMode.MINIMAL ? EmojiTheme.MINIMAL : theme,
+                colorEnabled && output == OutputMode.FULL, output == OutputMode.PLAIN, customPrefix, customSuffix);
+    }
+
+    private MessageFormatter(int configVersion, EmojiTheme theme, boolean colorEnabled, boolean plain,
+            String customPrefix, String customSuffix) {
         this.theme = theme;
-        this.config = config;
+        this.colorEnabled = colorEnabled && !plain;
+        this.plain = plain;
+        this.customPrefix = customPrefix == null ? "" : customPrefix;
+        this.customSuffix = customSuffix == null ? "" : customSuffix;
+        this.configVersion = configVersion;
+        this.base = this;
+
+        for (VividLevel level : LEVELS) {
+            String emoji = plain ? "" : theme.getEmojiMap().getOrDefault(level.name(), UNKNOWN_EMOJI);
+            heads[level.ordinal()] = head(AnsiColors.getColorForLevel(level.name()), emoji);
+            tails[level.ordinal()] = tail();
+        }
+        this.unknownHead = head(AnsiColors.RESET, plain ? "" : UNKNOWN_EMOJI);
+        this.unknownTail = tail();
+    }
+
+    private MessageFormatter(MessageFormatter base, String context) {
+        this.theme = base.theme;
+        this.colorEnabled = base.colorEnabled;
+        this.plain = base.plain;
+        this.customPrefix = base.customPrefix;
+        this.customSuffix = base.customSuffix;
+        this.configVersion = base.configVersion;
+        this.base = base;
+        for (int i = 0; i < LEVELS.length; i++) {
+            heads[i] = base.heads[i] + context;
+            tails[i] = base.tails[i];
+        }
+        this.unknownHead = base.unknownHead + context;
+        this.unknownTail = base.unknownTail;
     }
-    
+
+    /**
+     * Creates a formatter that does not track any configuration.
+     *
+     * @param theme the emoji theme to use
+     * @param colorEnabled whether to apply ANSI colors
+     * @param customPrefix text placed before each message, may be empty
+     * @param customSuffix text placed after each message, may be empty
+     * @return the formatter
+     */
+    public static MessageFormatter of(EmojiTheme theme, boolean colorEnabled, String customPrefix, String customSuffix) {
+        return new MessageFormatter(0, theme, colorEnabled, false, customPrefix, customSuffix);
+    }
+
+    /**
+     * Returns a copy of this formatter using another theme.
+     *
+     * @param newTheme the emoji theme to use
+     * @return the new formatter
+     */
+    public MessageFormatter withTheme(EmojiTheme newTheme) {
+        return keepContext(new MessageFormatter(configVersion, newTheme, colorEnabled, plain, customPrefix, customSuffix));
+    }
+
+    /**
+     * Returns a copy of this formatter with colors enabled or disabled.
+     *
+     * @param enabled true to apply ANSI colors
+     * @return the new formatter
+     */
+    public MessageFormatter withColorEnabled(boolean enabled) {
+        return keepContext(new MessageFormatter(configVersion, theme, enabled, plain, customPrefix, customSuffix));
+    }
+
+    /**
+     * Returns the variant of this formatter for an output mode, keeping prefix, suffix and context.
+     *
+     * @param mode the resolved output mode; {@link OutputMode#AUTO} and {@link OutputMode#FULL} keep this formatter
+     * @return the formatter for the mode
+     */
+    public MessageFormatter forOutput(OutputMode mode) {
+        return switch (mode) {
+            case AUTO, FULL -> this;
+            case EMOJI -> colorEnabled ? withColorEnabled(false) : this;
+            case MINIMAL -> minimal();
+            case PLAIN -> plain ? this
+                    : keepContext(new MessageFormatter(configVersion, theme, false, true, customPrefix, customSuffix));
+        };
+    }
+
+    /**
+     * Returns the cheapest decorated variant of this formatter: the MINIMAL theme without
+     * colors, keeping prefix, suffix and context. Built once per snapshot.
+     *
+     * @return the minimal formatter
+     */
+    public MessageFormatter minimal() {
+        MessageFormatter derived = minimal;
+        if (derived == null) {
+            derived = (theme == EmojiTheme.MINIMAL || plain) && !colorEnabled
+                    ? this
+                    : withTheme(EmojiTheme.MINIMAL).withColorEnabled(false);
+            minimal = derived;
+        }
+        return derived;
+    }
+
+    /**
+     * Returns a copy of this formatter that places fixed context text between the emoji
+     * and the message, rendered once here instead of on every call.
+     *
+     * @param context the text to insert, e.g. {@code "[job=42] "}
+     * @return the new formatter
+     */
+    public MessageFormatter withContext(String context) {
+        return new MessageFormatter(base, base == this ? context : contextOf(this, base) + context);
+    }
+
+    /**
+     * Gets the formatter this one was derived from with {@link #withContext(String)}.
+     *
+     * @return the base formatter, or this formatter if it has no context
+     */
+    public MessageFormatter getBase() {
+        return base;
+    }
+
     /**
      * Formats a message using configuration settings to determine color usage.
-     * 
+     *
      * @param level the log level
      * @param msg the message to format
      * @return the formatted message
      */
     public String format(String level, String msg) {
-        boolean useColors = config.shouldApplyColors();
-        return formatMessage(level, msg, useColors);
+        JfrEvents.Format event = JfrEvents.format();
+        event.started();
+        int index = indexOf(level);
+        String formatted = index < 0 ? unknownHead + msg + unknownTail : heads[index] + msg + tails[index];
+        event.finished(level, theme, msg);
+        return formatted;
     }
-    
+
     /**
-     * Internal method to format a message with emoji and optional colors.
-     * 
+     * Formats a message for a known level.
+     *
      * @param level the log level
      * @param msg the message to format
-     * @param useColors whether to apply ANSI colors
      * @return the formatted message
      */
-    private String formatMessage(String level, String msg, boolean useColors) {
-        StringBuilder formatted = new StringBuilder();
-        
-        // Add custom prefix
-        if (!config.getCustomPrefix().isEmpty()) {
-            formatted.append(config.getCustomPrefix()).append(" ");
+    public String format(VividLevel level, String msg) {
+        JfrEvents.Format event = JfrEvents.format();
+        event.started();
+        String formatted = heads[level.ordinal()] + msg + tails[level.ordinal()];
+        event.finished(level.name(), theme, msg);
+        return formatted;
+    }
+
+    /**
+     * Appends a formatted message to an existing buffer, so several messages can be
+     * decorated into one buffer without intermediate strings.
+     *
+     * @param out the buffer to append to
+     * @param level the log level
+     * @param msg the message to format
+     * @return the buffer, for chaining
+     */
+    public StringBuilder formatTo(StringBuilder out, String level, CharSequence msg) {
+        int index = indexOf(level);
+        if (index < 0) {
+            return out.append(unknownHead).append(msg).append(unknownTail);
+        }
+        return out.append(heads[index]).append(msg).append(tails[index]);
+    }
+
+    /**
+     * Removes the decoration a formatter adds for a level: the color, prefix, emoji of any
+     * theme, suffix and color reset. Context text of child loggers is kept as part of the message.
+     * Parts that are not present are left alone, so undecorated text is returned unchanged.
+     *
+     * @param level the log level the message was decorated for
+     * @param msg the possibly decorated message
+     * @param customPrefix the prefix that may have been added, may be empty
+     * @param customSuffix the suffix that may have been added, may be empty
+     * @return the message without decoration
+     */
+    public static String undecorate(VividLevel level, String msg, String customPrefix, String customSuffix) {
+        if (msg == null) {
+            return null;
+        }
+        int start = 0;
+        int end = msg.length();
+        String color = AnsiColors.getColorForLevel(level.name());
+        if (end >= color.length() + AnsiColors.RESET.length() && msg.startsWith(color) && msg.endsWith(AnsiColors.RESET)) {
+            start += color.length();
+            end -= AnsiColors.RESET.length();
+        }
+        if (customPrefix != null && !customPrefix.isEmpty() && msg.startsWith(customPrefix + " ", start)) {
+            start += customPrefix.length() + 1;
+        }
+        if (customSuffix != null && !customSuffix.isEmpty()) {
+            String suffix = " " + customSuffix;
+            if (end - start >= suffix.length() && msg.startsWith(suffix, end - suffix.length())) {
+                end -= suffix.length();
+            }
+        }
+        for (String emoji : ALL_EMOJIS[level.ordinal()]) {
+            if (end - start >= emoji.length() && msg.startsWith(emoji, start)) {
+                start += emoji.length();
+                break;
+            }
+        }
+        return start == 0 && end == msg.length() ? msg : msg.substring(start, end);
+    }
+
+    /**
+     * Gets the decoration placed before messages of a level.
+     *
+     * @param level the log level
+     * @return the color code, prefix and emoji
+     */
+    public String getHead(VividLevel level) {
+        return heads[level.ordinal()];
+    }
+
+    /**
+     * Gets the decoration placed after messages of a level.
+     *
+     * @param level the log level
+     * @return the suffix and color reset
+     */
+    public String getTail(VividLevel level) {
+        return tails[level.ordinal()];
+    }
+
+    /**
+     * Gets the emoji theme of this formatter.
+     *
+     * @return the theme
+     */
+    public EmojiTheme getTheme() {
+        return theme;
+    }
+
+    /**
+     * Checks if this formatter applies ANSI colors.
+     *
+     * @return true if colors are applied
+     */
+    public boolean isColorEnabled() {
+        return colorEnabled;
+    }
+
+    /**
+     * Gets the configuration version this snapshot was taken from.
+     *
+     * @return the configuration version
+     */
+    public int getConfigVersion() {
+        return configVersion;
+    }
+
+    private MessageFormatter keepContext(MessageFormatter plain) {
+        return base == this ? plain : plain.withContext(contextOf(this, base));
+    }
+
+    private static String contextOf(MessageFormatter derived, MessageFormatter base) {
+        return derived.unknownHead.substring(base.unknownHead.length());
+    }
+
+    private String head(String color, String emoji) {
+        StringBuilder head = new StringBuilder();
+        if (colorEnabled) {
+            head.append(color);
+        }
+        if (!customPrefix.isEmpty()) {
+            head.append(customPrefix).append(" ");
+        }
+        return head.append(emoji).toString();
+    }
+
+    private String tail() {
+        StringBuilder tail = new StringBuilder();
+        if (!customSuffix.isEmpty()) {
+            tail.append(" ").append(customSuffix);
         }
-        
-        // Add emoji
-        Map<String, String> emojiMap = theme.getEmojiMap();
-        formatted.append(emojiMap.getOrDefault(level, " "));
-        
-        // Add the message
-        String finalMessage = formatted.append(msg).toString();
-        
-        // Add custom suffix
-        if (!config.getCustomSuffix().isEmpty()) {
-            finalMessage += " " + config.getCustomSuffix();
+        if (colorEnabled) {
+            tail.append(AnsiColors.RESET);
         }
-        
-        // Apply colors if requested and enabled
-        if (useColors && config.isColorEnabled()) {
-            String color = AnsiColors.getColorForLevel(level);
-            finalMessage = AnsiColors.colorize(finalMessage, color);
+        return tail.toString();
+    }
+
+    private static String[][] allEmojis() {
+        String[][] emojis = new String[LEVELS.length][];
+        for (VividLevel level : LEVELS) {
+            emojis[level.ordinal()] = Arrays.stream(EmojiTheme.values())
+                    .map(theme -> theme.getEmojiMap().get(level.name()))
+                    .filter(emoji -> emoji != null && !emoji.isEmpty())
+                    .distinct()
+                    .sorted(Comparator.comparingInt(String::length).reversed())
+                    .toArray(String[]::new);
         }
-        
-        return finalMessage;
+        return emojis;
+    }
+
+    private static int indexOf(String level) {
+        return switch (level) {
+            case "TRACE" -> VividLevel.TRACE.ordinal();
+            case "DEBUG" -> VividLevel.DEBUG.ordinal();
+            case "INFO" -> VividLevel.INFO.ordinal();
+            case "WARN" -> VividLevel.WARN.ordinal();
+            case "ERROR" -> VividLevel.ERROR.ordinal();
+            case "SUCCESS" -> VividLevel.SUCCESS.ordinal();
+            case "COMPLETED" -> VividLevel.COMPLETED.ordinal();
+            default -> -1;
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,258 @@
+package io.github.h3yzack.vivid4jlog.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Byte limits for message bodies and individual arguments, applied while the
+ * {@code {}} placeholders are substituted.
+ * <p>
+ * Arguments that are {@link CharSequence}s are copied only up to the limit, so a multi-MB
+ * payload never gets a second full-size copy; what is cut off is replaced with
+ * {@code …(+N chars)}. Sizes are counted in UTF-8 bytes and cuts never split a character;
+ * the cut-off rest is counted in chars, so it is never scanned.
+ * In chunked mode an oversized message is split into several bodies instead of truncated.
+ * <p>
+ * Substitution follows SLF4J: {@code \{}} is a literal {@code {}}, {@code \\{}} is a
+ * backslash followed by a placeholder, and placeholders without an argument are kept.
+ * Instances are immutable.
+ *
+ * @author Zuhaimi A.
+ */
+public final class MessageLimits {
+
+    /** No limits; messages are formatted by SLF4J as usual. */
+    public static final MessageLimits NONE = new MessageLimits(0, 0, false);
+
+    private static final String ELLIPSIS = "\u2026";
+    private static final int ELLIPSIS_BYTES = 3;
+
+    private final int maxMessageBytes;
+    private final int maxArgumentBytes;
+    private final boolean chunked;
+
+    private MessageLimits(int maxMessageBytes, int maxArgumentBytes, boolean chunked) {
+        this.maxMessageBytes = maxMessageBytes;
+        this.maxArgumentBytes = maxArgumentBytes;
+        this.chunked = chunked && maxMessageBytes > 0;
+    }
+
+    /**
+     * Creates limits. A limit of 0 or less means unlimited.
+     *
+     * @param maxMessageBytes the maximum size of a message body, excluding decoration
+     * @param maxArgumentBytes the maximum size of a single substituted argument
+     * @param chunked true to split oversized messages into chunks instead of truncating them
+     * @return the limits
+     */
+    public static MessageLimits of(int maxMessageBytes, int maxArgumentBytes, boolean chunked) {
+        if (maxMessageBytes <= 0 && maxArgumentBytes <= 0) {
+            return NONE;
+        }
+        return new MessageLimits(Math.max(0, maxMessageBytes), Math.max(0, maxArgumentBytes), chunked);
+    }
+
+    /**
+     * Checks if any limit is set.
+     *
+     * @return false for {@link #NONE}
+     */
+    public boolean isEnabled() {
+        return this != NONE;
+    }
+
+    /**
+     * Gets the maximum message body size.
+     *
+     * @return the size in bytes, 0 when unlimited
+     */
+    public int getMaxMessageBytes() {
+        return maxMessageBytes;
+    }
+
+    /**
+     * Gets the maximum size of a substituted argument.
+     *
+     * @return the size in bytes, 0 when unlimited
+     */
+    public int getMaxArgumentBytes() {
+        return maxArgumentBytes;
+    }
+
+    /**
+     * Checks if oversized messages are split into chunks.
+     *
+     * @return true in chunked mode
+     */
+    public boolean isChunked() {
+        return chunked;
+    }
+
+    /**
+     * Substitutes the arguments into the template and appends the bounded result.
+     * In chunked mode the message limit is ignored; use {@link #chunk} instead.
+     *
+     * @param out the builder to append to
+     * @param template the message template, or the literal message when arguments is null
+     * @param arguments the arguments, null to append the template without substitution
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder out, String template, Object[] arguments) {
+        Body body = new Body(out, chunked ? 0 : maxMessageBytes, null);
+        body.render(template, arguments);
+        body.finish();
+        return out;
+    }
+
+    /**
+     * Substitutes the arguments into the template and splits the result into bodies of at
+     * most the message limit. The chunks are returned rather than handed to a callback, so
+     * the caller logs them from its own frame and caller data still points at the call site.
+     *
+     * @param template the message template, or the literal message when arguments is null
+     * @param arguments the arguments, null to use the template without substitution
+     * @return the chunks in order, at least one
+     */
+    public List<String> chunk(String template, Object[] arguments) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder out = new StringBuilder(Math.min(maxMessageBytes, 8192));
+        Body body = new Body(out, maxMessageBytes, chunks::add);
+        body.render(template, arguments);
+        chunks.add(out.toString());
+        return chunks;
+    }
+
+    /**
+     * Renders one message, counting UTF-8 bytes as it goes.
+     */
+    private final class Body {
+        private final StringBuilder out;
+        private final int limit;
+        private final Consumer<String> flush;
+        private int bytes;
+        private boolean truncated;
+        private long skipped;
+
+        Body(StringBuilder out, int limit, Consumer<String> flush) {
+            this.out = out;
+            this.limit = limit;
+            this.flush = flush;
+        }
+
+        void render(String template, Object[] arguments) {
+            if (template == null) {
+                append("null", 0, 4, 0);
+                return;
+            }
+            if (arguments == null) {
+                append(template, 0, template.length(), 0);
+                return;
+            }
+            int from = 0;
+            int next = 0;
+            while (next < arguments.length) {
+                int at = template.indexOf("{}", from);
+                if (at < 0) {
+                    break;
+                }
+                int backslashes = 0;
+                while (at - backslashes - 1 >= from && template.charAt(at - backslashes - 1) == '\\') {
+                    backslashes++;
+                }
+                if (backslashes == 1) {
+                    // escaped: keep "{}" literally
+                    append(template, from, at - 1, 0);
+                    append("{}", 0, 2, 0);
+                } else {
+                    // "\\{}" is a literal backslash followed by a placeholder
+                    append(template, from, backslashes >= 2 ? at - 1 : at, 0);
+                    argument(arguments[next++]);
+                }
+                from = at + 2;
+            }
+            append(template, from, template.length(), 0);
+        }
+
+        void argument(Object argument) {
+            CharSequence text = argument instanceof CharSequence ? (CharSequence) argument : toText(argument);
+            append(text, 0, text.length(), maxArgumentBytes);
+        }
+
+        /**
+         * Appends a range of text, stopping after {@code cap} bytes when cap is positive.
+         */
+        void append(CharSequence text, int start, int end, int cap) {
+            if (truncated) {
+                // past the message limit only the length of what is left out is counted
+                skipped += end - start;
+                return;
+            }
+            int used = 0;
+            for (int i = start; i < end; ) {
+                int codePoint = Character.codePointAt(text, i);
+                int count = Character.charCount(codePoint);
+                int size = utf8Length(codePoint);
+                if (cap > 0 && used + size > cap) {
+                    marker(end - i);
+                    return;
+                }
+                if (limit > 0 && bytes + size > limit) {
+                    if (flush == null) {
+                        truncated = true;
+                        skipped += end - i;
+                        return;
+                    } else if (bytes > 0) {
+                        flush.accept(out.toString());
+                        out.setLength(0);
+                        bytes = 0;
+                        // the same code point starts the next chunk
+                        continue;
+                    }
+                }
+                used += size;
+                out.append(text, i, i + count);
+                bytes += size;
+                i += count;
+            }
+        }
+
+        /**
+         * Appends the truncation marker, which may go over the message limit.
+         */
+        private void marker(long dropped) {
+            String count = "(+" + dropped + " chars)";
+            out.append(ELLIPSIS).append(count);
+            bytes += ELLIPSIS_BYTES + count.length();
+        }
+
+        void finish() {
+            if (truncated) {
+                marker(skipped);
+            }
+        }
+    }
+
+    private static CharSequence toText(Object argument) {
+        if (argument == null) {
+            return "null";
+        }
+        if (!argument.getClass().isArray()) {
+            return String.valueOf(argument);
+        }
+        // handles Object[] as well as primitive arrays, like SLF4J
+        String text = Arrays.deepToString(new Object[] {argument});
+        return text.substring(1, text.length() - 1);
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
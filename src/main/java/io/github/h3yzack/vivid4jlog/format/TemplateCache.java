@@ -0,0 +1,160 @@
+package io.github.h3yzack.vivid4jlog.format;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+
+/**
+ * Bounded cache of decorated format templates.
+ * Format strings logged with arguments are almost always constants, so the decorated template
+ * for a given string, level and formatter snapshot can be reused instead of rebuilt on every call.
+ * Messages logged without arguments are often built per call and should not be passed here;
+ * templates longer than {@link #MAX_TEMPLATE_LENGTH} are decorated without being cached.
+ * <p>
+ * The cache is a direct-mapped table keyed by template identity, level and formatter identity.
+ * Entries are immutable and slots are simply overwritten on collision, so hits never lock or
+ * allocate and non-constant messages can never grow the cache beyond its fixed size.
+ * A new formatter snapshot (e.g. after a theme change) makes older entries miss and get replaced.
+ *
+ * @author Zuhaimi A.
+ */
+public class TemplateCache {
+
+    /** Default number of slots. */
+    public static final int DEFAULT_SIZE = 1024;
+
+    /** Longest template that is cached; longer ones are rarely constants. */
+    public static final int MAX_TEMPLATE_LENGTH = 512;
+
+    private final Entry[] slots;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile boolean enabled;
+
+    /**
+     * Creates a cache.
+     *
+     * @param size the number of slots, rounded up to a power of two
+     * @param enabled whether the cache starts enabled
+     */
+    public TemplateCache(int size, boolean enabled) {
+        int capacity = Integer.highestOneBit(Math.max(1, Math.min(size, 1 << 20)) * 2 - 1);
+        this.slots = new Entry[capacity];
+        this.mask = capacity - 1;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the decorated template, from the cache when possible.
+     *
+     * @param formatter the formatter snapshot to decorate with
+     * @param level the log level
+     * @param template the format template, logged with arguments
+     * @return the decorated template
+     */
+    public String decorate(MessageFormatter formatter, VividLevel level, String template) {
+        if (!enabled || template == null || template.length() > MAX_TEMPLATE_LENGTH) {
+            return formatter.format(level, template);
+        }
+        int index = (System.identityHashCode(template) * 31 + level.ordinal()) & mask;
+        Entry entry = slots[index];
+        if (entry != null && entry.template == template && entry.level == level && entry.formatter == formatter) {
+            hits.increment();
+            return entry.decorated;
+        }
+        misses.increment();
+        String decorated = formatter.format(level, template);
+        // racy write is fine: entries are immutable and a lost update only costs a later miss
+        slots[index] = new Entry(template, level, formatter, decorated);
+        return decorated;
+    }
+
+    /**
+     * Enables or disables the cache. Disabling also drops all entries.
+     *
+     * @param enabled true to cache decorated templates
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    /**
+     * Checks if the cache is enabled.
+     *
+     * @return true if decorated templates are cached
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the number of slots.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Gets the number of occupied slots.
+     *
+     * @return the number of cached templates
+     */
+    public int size() {
+        int size = 0;
+        for (Entry entry : slots) {
+            if (entry != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to decorate the template.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Drops all entries and resets the hit and miss counts.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = null;
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    private static final class Entry {
+        final String template;
+        final VividLevel level;
+        final MessageFormatter formatter;
+        final String decorated;
+
+        Entry(String template, VividLevel level, MessageFormatter formatter, String decorated) {
+            this.template = template;
+            this.level = level;
+            this.formatter = formatter;
+            this.decorated = decorated;
+        }
+    }
+}
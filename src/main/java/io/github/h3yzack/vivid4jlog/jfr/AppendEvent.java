@@ -0,0 +1,38 @@
+package io.github.h3yzack.vivid4jlog.jfr;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for each event passing through {@code Vivid4jLogAppender}.
+ * The format time covers wrapping the event, the append time the attached appenders or,
+ * in fan-out mode, handing the event to their queues.
+ *
+ * @author Zuhaimi A.
+ */
+@Name(AppendEvent.NAME)
+@Label("Vivid4jLogAppender Append")
+@Description("Decoration and downstream time of an event in Vivid4jLogAppender")
+public final class AppendEvent extends TimedLogEvent implements JfrEvents.Append {
+
+    /** The event name, for enabling it in a recording. */
+    public static final String NAME = "io.github.h3yzack.vivid4jlog.Append";
+
+    @Label("Degradation")
+    String degradation;
+
+    /**
+     * Ends the event and commits it if it exceeds the configured threshold.
+     *
+     * @param event the original logging event
+     * @param theme the theme name used for decoration, or {@code NONE}
+     * @param degradation the adaptive degradation level in effect
+     */
+    @Override
+    public void finished(ILoggingEvent event, String theme, String degradation) {
+        this.degradation = degradation;
+        finish(event.getLoggerName(), event.getLevel().toString(), theme, event.getMessage());
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.h3yzack.vivid4jlog.jfr;
+
+import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Recorded for each {@code MessageFormatter.format} call; the duration is the decoration time.
+ * Decorated templates served from the template cache are not formatted and not recorded.
+ *
+ * @author Zuhaimi A.
+ */
+@Name(FormatEvent.NAME)
+@Label("Vivid Format")
+@Description("Decoration of one message by MessageFormatter")
+@Category("Vivid4jLog")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("0 ms")
+public final class FormatEvent extends jdk.jfr.Event implements JfrEvents.Format {
+
+    /** The event name, for enabling it in a recording. */
+    public static final String NAME = "io.github.h3yzack.vivid4jlog.Format";
+
+    @Label("Level")
+    String level;
+
+    @Label("Theme")
+    String theme;
+
+    @Label("Message Length")
+    int messageLength;
+
+    /**
+     * Starts timing; a single field check when the event is not being recorded.
+     */
+    @Override
+    public void started() {
+        begin();
+    }
+
+    /**
+     * Ends the event and commits it if it is enabled and exceeds the configured threshold.
+     *
+     * @param level the level name
+     * @param theme the theme
+     * @param message the undecorated message
+     */
+    @Override
+    public void finished(String level, EmojiTheme theme, String message) {
+        end();
+        if (shouldCommit()) {
+            this.level = level;
+            this.theme = theme.name();
+            this.messageLength = message == null ? 0 : message.length();
+            commit();
+        }
+    }
+}
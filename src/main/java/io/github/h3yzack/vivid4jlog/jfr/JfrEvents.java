@@ -0,0 +1,154 @@
+package io.github.h3yzack.vivid4jlog.jfr;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+
+/**
+ * Creates the Flight Recorder events used on the logging path, or shared no-op stand-ins when
+ * the {@code jdk.jfr} module is not in the runtime (e.g. a jlinked image without it).
+ * The module is looked up once; call sites only see the interfaces declared here, so the
+ * {@code jdk.jfr} classes are never loaded without it.
+ *
+ * @author Zuhaimi A.
+ */
+public final class JfrEvents {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    static final NoOp NO_OP = new NoOp();
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Checks if the events are backed by Flight Recorder.
+     *
+     * @return true if the {@code jdk.jfr} module is present
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Creates the event for one {@code Vivid4jLogger} call.
+     *
+     * @return a new event, or a no-op without {@code jdk.jfr}
+     */
+    public static LogCall logCall() {
+        return AVAILABLE ? Events.logCall() : NO_OP;
+    }
+
+    /**
+     * Creates the event for one event passing through {@code Vivid4jLogAppender}.
+     *
+     * @return a new event, or a no-op without {@code jdk.jfr}
+     */
+    public static Append append() {
+        return AVAILABLE ? Events.append() : NO_OP;
+    }
+
+    /**
+     * Creates the event for one {@code MessageFormatter.format} call.
+     *
+     * @return a new event, or a no-op without {@code jdk.jfr}
+     */
+    public static Format format() {
+        return AVAILABLE ? Events.format() : NO_OP;
+    }
+
+    /**
+     * Timing of a {@code Vivid4jLogger} call, see {@link LogCallEvent}.
+     */
+    public interface LogCall {
+        /** Starts timing if the event is being recorded. */
+        void started();
+
+        /** Marks the end of decoration. */
+        void formatted();
+
+        /**
+         * Ends the event and commits it if it is being recorded.
+         *
+         * @param loggerName the logger name
+         * @param level the level
+         * @param theme the theme used for decoration
+         * @param message the message or template as passed by the caller
+         */
+        void finished(String loggerName, VividLevel level, EmojiTheme theme, String message);
+    }
+
+    /**
+     * Timing of an event in {@code Vivid4jLogAppender}, see {@link AppendEvent}.
+     */
+    public interface Append {
+        /** Starts timing if the event is being recorded. */
+        void started();
+
+        /** Marks the end of decoration. */
+        void formatted();
+
+        /**
+         * Ends the event and commits it if it is being recorded.
+         *
+         * @param event the original logging event
+         * @param theme the theme name used for decoration, or {@code NONE}
+         * @param degradation the adaptive degradation level in effect
+         */
+        void finished(ILoggingEvent event, String theme, String degradation);
+    }
+
+    /**
+     * Timing of a {@code MessageFormatter.format} call, see {@link FormatEvent}.
+     */
+    public interface Format {
+        /** Starts timing if the event is being recorded. */
+        void started();
+
+        /**
+         * Ends the event and commits it if it is being recorded.
+         *
+         * @param level the level name
+         * @param theme the theme
+         * @param message the undecorated message
+         */
+        void finished(String level, EmojiTheme theme, String message);
+    }
+
+    // only loaded when jdk.jfr is present, since the event classes extend jdk.jfr.Event
+    private static final class Events {
+        static LogCall logCall() {
+            return new LogCallEvent();
+        }
+
+        static Append append() {
+            return new AppendEvent();
+        }
+
+        static Format format() {
+            return new FormatEvent();
+        }
+    }
+
+    static final class NoOp implements LogCall, Append, Format {
+        @Override
+        public void started() {
+        }
+
+        @Override
+        public void formatted() {
+        }
+
+        @Override
+        public void finished(String loggerName, VividLevel level, EmojiTheme theme, String message) {
+        }
+
+        @Override
+        public void finished(ILoggingEvent event, String theme, String degradation) {
+        }
+
+        @Override
+        public void finished(String level, EmojiTheme theme, String message) {
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.h3yzack.vivid4jlog.jfr;
+
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for a {@code Vivid4jLogger} level method that passed the level check.
+ * The append time covers the SLF4J logger and every appender it calls.
+ *
+ * @author Zuhaimi A.
+ */
+@Name(LogCallEvent.NAME)
+@Label("Vivid4jLogger Call")
+@Description("Decoration and logging time of a Vivid4jLogger call")
+public final class LogCallEvent extends TimedLogEvent implements JfrEvents.LogCall {
+
+    /** The event name, for enabling it in a recording. */
+    public static final String NAME = "io.github.h3yzack.vivid4jlog.LogCall";
+
+    /**
+     * Ends the event and commits it if it exceeds the configured threshold.
+     *
+     * @param loggerName the logger name
+     * @param level the level
+     * @param theme the theme used for decoration
+     * @param message the message or template as passed by the caller
+     */
+    @Override
+    public void finished(String loggerName, VividLevel level, EmojiTheme theme, String message) {
+        finish(loggerName, level.name(), theme.name(), message);
+    }
+}
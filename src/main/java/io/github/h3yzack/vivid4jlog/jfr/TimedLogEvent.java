@@ -0,0 +1,86 @@
+package io.github.h3yzack.vivid4jlog.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Common fields of the events recorded around a log call, which split the duration into
+ * time spent decorating and time spent in the SLF4J logger or downstream appenders.
+ * <p>
+ * Usage is {@code started()}, {@code formatted()}, {@code finished(...)}; each step is a
+ * single field check when the event is not being recorded.
+ *
+ * @author Zuhaimi A.
+ */
+@Category("Vivid4jLog")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("0 ms")
+abstract class TimedLogEvent extends jdk.jfr.Event {
+
+    @Label("Logger")
+    String loggerName;
+
+    @Label("Level")
+    String level;
+
+    @Label("Theme")
+    String theme;
+
+    @Label("Message Length")
+    int messageLength;
+
+    @Label("Format Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long formatTime;
+
+    @Label("Append Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long appendTime;
+
+    // not recorded; 0 while the event is inactive
+    private transient long mark;
+
+    /**
+     * Starts timing if the event is enabled in a running recording.
+     */
+    public void started() {
+        if (isEnabled()) {
+            begin();
+            mark = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the end of decoration; the time since {@link #started()} is the format time.
+     */
+    public void formatted() {
+        if (mark != 0) {
+            long now = System.nanoTime();
+            formatTime = now - mark;
+            mark = now;
+        }
+    }
+
+    /**
+     * Ends the event and commits it if it exceeds the configured threshold.
+     */
+    void finish(String loggerName, String level, String theme, String message) {
+        if (mark == 0) {
+            return;
+        }
+        appendTime = System.nanoTime() - mark;
+        end();
+        if (shouldCommit()) {
+            this.loggerName = loggerName;
+            this.level = level;
+            this.theme = theme;
+            this.messageLength = message == null ? 0 : message.length();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.h3yzack.vivid4jlog.jfr;
+
+import java.time.Duration;
+import java.util.List;
+
+import jdk.jfr.Recording;
+
+/**
+ * Helpers for the Java Flight Recorder events of Vivid4jLog.
+ * The events are disabled by default; enable them in a recording, programmatically with
+ * {@link #enable(Recording, Duration)} or in a {@code .jfc} settings file:
+ * <pre>
+ *     &lt;event name="io.github.h3yzack.vivid4jlog.LogCall"&gt;
+ *         &lt;setting name="enabled"&gt;true&lt;/setting&gt;
+ *         &lt;setting name="threshold"&gt;100 us&lt;/setting&gt;
+ *     &lt;/event&gt;
+ * </pre>
+ * The events need the {@code jdk.jfr} module at runtime; without it the logging path skips them
+ * (see {@link JfrEvents}), but this class itself cannot be used.
+ *
+ * @author Zuhaimi A.
+ */
+public final class Vivid4jJfr {
+
+    /** Names of all Vivid4jLog events. */
+    public static final List<String> EVENT_NAMES = List.of(FormatEvent.NAME, LogCallEvent.NAME, AppendEvent.NAME);
+
+    private Vivid4jJfr() {
+    }
+
+    /**
+     * Enables all Vivid4jLog events in a recording.
+     *
+     * @param recording the recording
+     * @param threshold only calls taking at least this long are recorded
+     */
+    public static void enable(Recording recording, Duration threshold) {
+        for (String name : EVENT_NAMES) {
+            recording.enable(name).withThreshold(threshold);
+        }
+    }
+}
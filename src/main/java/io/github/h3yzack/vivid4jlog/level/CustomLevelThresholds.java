@@ -0,0 +1,153 @@
+package io.github.h3yzack.vivid4jlog.level;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Per-logger-name thresholds for the custom SUCCESS and COMPLETED levels.
+ * A threshold works like a logger level that only applies to one custom level:
+ * the custom level is enabled when its threshold is INFO or lower, and disabled otherwise.
+ * Thresholds are inherited along the logger name hierarchy; {@code ROOT} applies to all loggers.
+ * Loggers without any threshold in their hierarchy fall back to their regular INFO level.
+ * <p>
+ * Resolved decisions are cached per logger name, and every change bumps {@link #version()}
+ * so callers holding their own cached decision know to re-resolve.
+ *
+ * @author Zuhaimi A.
+ */
+public class CustomLevelThresholds {
+
+    /** Name used for the threshold that applies to all loggers. */
+    public static final String ROOT = "ROOT";
+
+    // thresholds and the decisions resolved from them are swapped together,
+    // so a decision resolved from stale thresholds can never land in the current cache
+    private volatile State state = new State(Collections.emptyMap());
+    private volatile int version;
+
+    /**
+     * Sets the threshold of a custom level for a logger name and its descendants.
+     *
+     * @param level the custom level, SUCCESS or COMPLETED
+     * @param loggerName the logger name, or {@code ROOT}
+     * @param threshold the threshold level, or null to remove it
+     */
+    public synchronized void setThreshold(VividLevel level, String loggerName, Level threshold) {
+        if (!level.isCustom()) {
+            throw new IllegalArgumentException("Thresholds apply only to custom levels, not " + level);
+        }
+        Map<VividLevel, Map<String, Level>> updated = new EnumMap<>(VividLevel.class);
+        state.thresholds.forEach((key, value) -> updated.put(key, new HashMap<>(value)));
+        Map<String, Level> byName = updated.computeIfAbsent(level, key -> new HashMap<>());
+        String name = loggerName.equalsIgnoreCase(ROOT) ? ROOT : loggerName;
+        if (threshold == null) {
+            byName.remove(name);
+        } else {
+            byName.put(name, threshold);
+        }
+        state = new State(updated);
+        version++;
+    }
+
+    /**
+     * Parses and sets a threshold from a {@code loggerName=LEVEL} entry, as used in logback.xml.
+     *
+     * @param level the custom level, SUCCESS or COMPLETED
+     * @param entry the entry, e.g. {@code com.myapp=INFO}
+     */
+    public void setThreshold(VividLevel level, String entry) {
+        int separator = entry.lastIndexOf('=');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Expected loggerName=LEVEL but got [" + entry + "]");
+        }
+        String levelName = entry.substring(separator + 1).trim();
+        Level threshold = Level.toLevel(levelName, null);
+        if (threshold == null) {
+            throw new IllegalArgumentException("Unknown level [" + levelName + "] in [" + entry + "]");
+        }
+        setThreshold(level, entry.substring(0, separator).trim(), threshold);
+    }
+
+    /**
+     * Checks if any threshold is configured.
+     *
+     * @return true if at least one threshold is set
+     */
+    public boolean isEmpty() {
+        for (Map<String, Level> byName : state.thresholds.values()) {
+            if (!byName.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the change counter, incremented whenever a threshold changes.
+     *
+     * @return the current version
+     */
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Decides whether a custom level is enabled for a logger.
+     *
+     * @param level the level being logged
+     * @param loggerName the logger name
+     * @return ACCEPT or DENY when a threshold applies, NEUTRAL to defer to the logger's INFO level
+     */
+    public FilterReply decide(VividLevel level, String loggerName) {
+        if (!level.isCustom()) {
+            return FilterReply.NEUTRAL;
+        }
+        State current = state;
+        Map<String, FilterReply> cache = level == VividLevel.SUCCESS ? current.success : current.completed;
+        FilterReply reply = cache.get(loggerName);
+        if (reply == null) {
+            reply = resolve(current.thresholds.get(level), loggerName);
+            cache.put(loggerName, reply);
+        }
+        return reply;
+    }
+
+    private static FilterReply resolve(Map<String, Level> byName, String loggerName) {
+        if (byName == null || byName.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = loggerName;
+        while (true) {
+            Level threshold = byName.get(name);
+            if (threshold != null) {
+                return Level.INFO.isGreaterOrEqual(threshold) ? FilterReply.ACCEPT : FilterReply.DENY;
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                break;
+            }
+            name = name.substring(0, dot);
+        }
+        Level root = byName.get(ROOT);
+        if (root == null) {
+            return FilterReply.NEUTRAL;
+        }
+        return Level.INFO.isGreaterOrEqual(root) ? FilterReply.ACCEPT : FilterReply.DENY;
+    }
+
+    private static final class State {
+        final Map<VividLevel, Map<String, Level>> thresholds;
+        final Map<String, FilterReply> success = new ConcurrentHashMap<>();
+        final Map<String, FilterReply> completed = new ConcurrentHashMap<>();
+
+        State(Map<VividLevel, Map<String, Level>> thresholds) {
+            this.thresholds = thresholds;
+        }
+    }
+}
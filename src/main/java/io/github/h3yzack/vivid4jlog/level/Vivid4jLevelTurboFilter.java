@@ -0,0 +1,105 @@
+package io.github.h3yzack.vivid4jlog.level;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.github.h3yzack.vivid4jlog.config.Vivid4jLogConfig;
+
+/**
+ * Logback turbo filter that enables or disables the custom SUCCESS and COMPLETED levels
+ * per logger name, independently of the logger's INFO level. Turbo filters run before
+ * Logback builds an event, so disabled custom levels cost no formatting or allocation.
+ * <p>
+ * Thresholds live in {@link Vivid4jLogConfig#getCustomLevelThresholds()} and can come from
+ * {@code vivid4jlog.properties} or from logback.xml:
+ * <pre>
+ *     &lt;turboFilter class="io.github.h3yzack.vivid4jlog.level.Vivid4jLevelTurboFilter"&gt;
+ *         &lt;completed&gt;com.myapp.jobs=INFO&lt;/completed&gt;
+ *         &lt;success&gt;ROOT=OFF&lt;/success&gt;
+ *     &lt;/turboFilter&gt;
+ * </pre>
+ * Loggers created through {@code Vivid4jLogger} install this filter automatically when
+ * thresholds are configured.
+ *
+ * @author Zuhaimi A.
+ */
+public class Vivid4jLevelTurboFilter extends TurboFilter {
+
+    private final CustomLevelThresholds thresholds;
+
+    /**
+     * Creates a filter backed by the global thresholds.
+     */
+    public Vivid4jLevelTurboFilter() {
+        this(Vivid4jLogConfig.getInstance().getCustomLevelThresholds());
+    }
+
+    /**
+     * Creates a filter backed by the given thresholds.
+     *
+     * @param thresholds the thresholds to consult
+     */
+    public Vivid4jLevelTurboFilter(CustomLevelThresholds thresholds) {
+        this.thresholds = thresholds;
+        setName(Vivid4jLevelTurboFilter.class.getSimpleName());
+    }
+
+    /**
+     * Adds a SUCCESS threshold.
+     *
+     * @param entry the threshold as {@code loggerName=LEVEL}
+     */
+    public void addSuccess(String entry) {
+        addThreshold(VividLevel.SUCCESS, entry);
+    }
+
+    /**
+     * Adds a COMPLETED threshold.
+     *
+     * @param entry the threshold as {@code loggerName=LEVEL}
+     */
+    public void addCompleted(String entry) {
+        addThreshold(VividLevel.COMPLETED, entry);
+    }
+
+    private void addThreshold(VividLevel level, String entry) {
+        try {
+            thresholds.setThreshold(level, entry);
+        } catch (IllegalArgumentException e) {
+            addError("Invalid " + level + " threshold", e);
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || level != Level.INFO) {
+            return FilterReply.NEUTRAL;
+        }
+        VividLevel vividLevel = VividLevel.of(org.slf4j.event.Level.INFO, marker);
+        return thresholds.decide(vividLevel, logger.getName());
+    }
+
+    /**
+     * Adds a started filter to the context unless one is already installed.
+     *
+     * @param context the Logback context
+     * @param thresholds the thresholds the filter should consult
+     */
+    public static void installIfAbsent(LoggerContext context, CustomLevelThresholds thresholds) {
+        synchronized (context.getTurboFilterList()) {
+            for (TurboFilter filter : context.getTurboFilterList()) {
+                if (filter instanceof Vivid4jLevelTurboFilter) {
+                    return;
+                }
+            }
+            Vivid4jLevelTurboFilter filter = new Vivid4jLevelTurboFilter(thresholds);
+            filter.setContext(context);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.h3yzack.vivid4jlog.level;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.slf4j.event.Level;
+
+/**
+ * Log levels known to Vivid4jLog, including the custom SUCCESS and COMPLETED levels.
+ * Custom levels are logged at SLF4J's INFO level with a marker of the same name.
+ *
+ * @author Zuhaimi A.
+ */
+public enum VividLevel {
+    TRACE(Level.TRACE, null),
+    DEBUG(Level.DEBUG, null),
+    INFO(Level.INFO, null),
+    WARN(Level.WARN, null),
+    ERROR(Level.ERROR, null),
+    SUCCESS(Level.INFO, "SUCCESS"),
+    COMPLETED(Level.INFO, "COMPLETED");
+
+    private final Level slf4jLevel;
+    private final String markerName;
+    private Marker marker;
+
+    VividLevel(Level slf4jLevel, String markerName) {
+        this.slf4jLevel = slf4jLevel;
+        this.markerName = markerName;
+    }
+
+    /**
+     * Gets the SLF4J level events of this level are logged at.
+     *
+     * @return the SLF4J level
+     */
+    public Level getSlf4jLevel() {
+        return slf4jLevel;
+    }
+
+    /**
+     * Checks if this is a custom level carried by a marker.
+     *
+     * @return true for SUCCESS and COMPLETED
+     */
+    public boolean isCustom() {
+        return markerName != null;
+    }
+
+    /**
+     * Gets the marker identifying this custom level.
+     *
+     * @return the marker, or null for standard levels
+     */
+    public Marker getMarker() {
+        if (markerName != null && marker == null) {
+            // resolved lazily so SLF4J is not initialized while the enum loads
+            marker = MarkerFactory.getMarker(markerName);
+        }
+        return marker;
+    }
+
+    /**
+     * Resolves the level of an event from its SLF4J level and marker.
+     *
+     * @param level the SLF4J level
+     * @param marker the event marker, may be null
+     * @return the matching level
+     */
+    public static VividLevel of(Level level, Marker marker) {
+        if (level == Level.INFO && marker != null) {
+            if (marker.contains(SUCCESS.markerName)) {
+                return SUCCESS;
+            }
+            if (marker.contains(COMPLETED.markerName)) {
+                return COMPLETED;
+            }
+        }
+        return switch (level) {
+            case TRACE -> TRACE;
+            case DEBUG -> DEBUG;
+            case INFO -> INFO;
+            case WARN -> WARN;
+            case ERROR -> ERROR;
+        };
+    }
+
+    /**
+     * Converts a string to the corresponding level, ignoring case.
+     *
+     * @param name the level name
+     * @return the matching level, or null if no match is found
+     */
+    public static VividLevel fromString(String name) {
+        for (VividLevel level : values()) {
+            if (level.name().equalsIgnoreCase(name)) {
+                return level;
+            }
+        }
+        return null;
+    }
+}
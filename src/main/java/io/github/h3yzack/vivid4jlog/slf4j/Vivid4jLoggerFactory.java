@@ -0,0 +1,55 @@
+package io.github.h3yzack.vivid4jlog.slf4j;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.github.h3yzack.vivid4jlog.config.Vivid4jLogConfig;
+import io.github.h3yzack.vivid4jlog.level.CustomLevelThresholds;
+import io.github.h3yzack.vivid4jlog.level.Vivid4jLevelTurboFilter;
+
+/**
+ * Logger factory that wraps each Logback logger in a {@link Vivid4jSlf4jLogger}.
+ * Wrappers are cached by name, like Logback's own loggers.
+ *
+ * @author Zuhaimi A.
+ */
+public class Vivid4jLoggerFactory implements ILoggerFactory {
+
+    private final LoggerContext loggerContext;
+    private final ConcurrentMap<String, Vivid4jSlf4jLogger> loggers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a factory over the given Logback context.
+     *
+     * @param loggerContext the Logback logger context
+     */
+    public Vivid4jLoggerFactory(LoggerContext loggerContext) {
+        this.loggerContext = loggerContext;
+        CustomLevelThresholds thresholds = Vivid4jLogConfig.getInstance().getCustomLevelThresholds();
+        if (!thresholds.isEmpty()) {
+            Vivid4jLevelTurboFilter.installIfAbsent(loggerContext, thresholds);
+        }
+    }
+
+    @Override
+    public Logger getLogger(String name) {
+        Vivid4jSlf4jLogger logger = loggers.get(name);
+        if (logger != null) {
+            return logger;
+        }
+        return loggers.computeIfAbsent(name, n -> new Vivid4jSlf4jLogger(loggerContext.getLogger(n)));
+    }
+
+    /**
+     * Gets the underlying Logback context.
+     *
+     * @return the logger context
+     */
+    public LoggerContext getLoggerContext() {
+        return loggerContext;
+    }
+}
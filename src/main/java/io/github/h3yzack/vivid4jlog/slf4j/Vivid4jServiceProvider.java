@@ -0,0 +1,55 @@
+package io.github.h3yzack.vivid4jlog.slf4j;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.spi.MDCAdapter;
+import org.slf4j.spi.SLF4JServiceProvider;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LogbackServiceProvider;
+
+/**
+ * SLF4J 2 service provider that hands out vivid-aware loggers backed by Logback.
+ * Plain {@code LoggerFactory.getLogger(...)} calls get theme decoration without wrapping
+ * each logger in a {@link io.github.h3yzack.vivid4jlog.Vivid4jLogger}.
+ * <p>
+ * Logback registers its own provider, so select this one explicitly:
+ * <pre>
+ *     java -Dslf4j.provider=io.github.h3yzack.vivid4jlog.slf4j.Vivid4jServiceProvider ...
+ * </pre>
+ * Logback configuration, markers and MDC are provided by the wrapped
+ * {@link LogbackServiceProvider}.
+ *
+ * @author Zuhaimi A.
+ */
+public class Vivid4jServiceProvider implements SLF4JServiceProvider {
+
+    private final LogbackServiceProvider delegate = new LogbackServiceProvider();
+    private Vivid4jLoggerFactory loggerFactory;
+
+    @Override
+    public void initialize() {
+        delegate.initialize();
+        loggerFactory = new Vivid4jLoggerFactory((LoggerContext) delegate.getLoggerFactory());
+    }
+
+    @Override
+    public ILoggerFactory getLoggerFactory() {
+        return loggerFactory;
+    }
+
+    @Override
+    public IMarkerFactory getMarkerFactory() {
+        return delegate.getMarkerFactory();
+    }
+
+    @Override
+    public MDCAdapter getMDCAdapter() {
+        return delegate.getMDCAdapter();
+    }
+
+    @Override
+    public String getRequestedApiVersion() {
+        return delegate.getRequestedApiVersion();
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.h3yzack.vivid4jlog.slf4j;
+
+import java.util.List;
+
+import org.slf4j.Marker;
+import org.slf4j.event.DefaultLoggingEvent;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.event.Level;
+import org.slf4j.event.LoggingEvent;
+import org.slf4j.helpers.AbstractLogger;
+import org.slf4j.spi.LoggingEventAware;
+
+import io.github.h3yzack.vivid4jlog.config.LoggerConfigWrapper;
+import io.github.h3yzack.vivid4jlog.config.Vivid4jLogConfig;
+import io.github.h3yzack.vivid4jlog.format.MessageFormatter;
+import io.github.h3yzack.vivid4jlog.format.TemplateCache;
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+
+/**
+ * SLF4J logger that decorates messages with the configured emoji theme and colors
+ * before handing them to the backing Logback logger.
+ * Level checks happen before any formatting, and {@code SUCCESS}/{@code COMPLETED}
+ * markers on INFO calls pick the matching custom level decoration.
+ * The fluent {@code LoggingEventBuilder} API is supported through {@link LoggingEventAware}.
+ *
+ * @author Zuhaimi A.
+ */
+public class Vivid4jSlf4jLogger extends AbstractLogger implements LoggingEventAware {
+
+    private static final long serialVersionUID = 1L;
+    // level methods are inherited, so AbstractLogger frames sit directly above the call site
+    private static final String FQCN = AbstractLogger.class.getName();
+
+    private final transient ch.qos.logback.classic.Logger delegate;
+    private final transient LoggerConfigWrapper config;
+    private final transient TemplateCache templateCache;
+    // immutable snapshot, pushed here when the global config (including the default theme) changes
+    private transient volatile MessageFormatter formatter;
+
+    /**
+     * Creates a vivid logger over the given Logback logger, using the global configuration.
+     *
+     * @param delegate the Logback logger to write to
+     */
+    public Vivid4jSlf4jLogger(ch.qos.logback.classic.Logger delegate) {
+        this.name = delegate.getName();
+        this.delegate = delegate;
+        this.config = new LoggerConfigWrapper(Vivid4jLogConfig.getInstance(), this::rebuildFormatter);
+        this.formatter = new MessageFormatter(config.getDefaultTheme(), config);
+        if (formatter.getConfigVersion() != config.getVersion()) {
+            // changed while the first snapshot was built
+            rebuildFormatter();
+        }
+        this.templateCache = Vivid4jLogConfig.getInstance().getTemplateCache();
+    }
+
+    private MessageFormatter formatter() {
+        return formatter;
+    }
+
+    private synchronized void rebuildFormatter() {
+        if (formatter != null) {
+            formatter = new MessageFormatter(config.getDefaultTheme(), config);
+        }
+    }
+
+    /**
+     * Gets the Logback logger this logger writes to.
+     *
+     * @return the backing Logback logger
+     */
+    public ch.qos.logback.classic.Logger getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    protected String getFullyQualifiedCallerName() {
+        return FQCN;
+    }
+
+    @Override
+    protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern,
+            Object[] arguments, Throwable throwable) {
+        VividLevel vividLevel = VividLevel.of(level, marker);
+        // messages without arguments are often built per call, so they bypass the cache
+        String decorated = arguments == null || arguments.length == 0
+                ? formatter().format(vividLevel, messagePattern)
+                : templateCache.decorate(formatter(), vividLevel, messagePattern);
+        delegate.log(marker, FQCN, level.toInt(), decorated, arguments, throwable);
+    }
+
+    @Override
+    public void log(LoggingEvent event) {
+        String decorated = formatter().format(vividLevel(event.getLevel(), event.getMarkers()), event.getMessage());
+        DefaultLoggingEvent decoratedEvent;
+        if (event instanceof DefaultLoggingEvent) {
+            decoratedEvent = (DefaultLoggingEvent) event;
+        } else {
+            decoratedEvent = copyOf(event);
+        }
+        decoratedEvent.setMessage(decorated);
+        if (decoratedEvent.getCallerBoundary() == null) {
+            decoratedEvent.setCallerBoundary(FQCN);
+        }
+        delegate.log(decoratedEvent);
+    }
+
+    private DefaultLoggingEvent copyOf(LoggingEvent event) {
+        DefaultLoggingEvent copy = new DefaultLoggingEvent(event.getLevel(), this);
+        if (event.getMarkers() != null) {
+            event.getMarkers().forEach(copy::addMarker);
+        }
+        if (event.getArguments() != null) {
+            event.getArguments().forEach(copy::addArgument);
+        }
+        if (event.getKeyValuePairs() != null) {
+            for (KeyValuePair pair : event.getKeyValuePairs()) {
+                copy.addKeyValue(pair.key, pair.value);
+            }
+        }
+        copy.setThrowable(event.getThrowable());
+        copy.setTimeStamp(event.getTimeStamp());
+        copy.setCallerBoundary(event.getCallerBoundary());
+        return copy;
+    }
+
+    private static VividLevel vividLevel(Level level, List<Marker> markers) {
+        if (level == Level.INFO && markers != null) {
+            for (Marker marker : markers) {
+                VividLevel vividLevel = VividLevel.of(level, marker);
+                if (vividLevel.isCustom()) {
+                    return vividLevel;
+                }
+            }
+        }
+        return VividLevel.of(level, null);
+    }
+
+    @Override
+    public boolean isTraceEnabled() { return delegate.isTraceEnabled(); }
+    @Override
+    public boolean isTraceEnabled(Marker marker) { return delegate.isTraceEnabled(marker); }
+    @Override
+    public boolean isDebugEnabled() { return delegate.isDebugEnabled(); }
+    @Override
+    public boolean isDebugEnabled(Marker marker) { return delegate.isDebugEnabled(marker); }
+    @Override
+    public boolean isInfoEnabled() { return delegate.isInfoEnabled(); }
+    @Override
+    public boolean isInfoEnabled(Marker marker) { return delegate.isInfoEnabled(marker); }
+    @Override
+    public boolean isWarnEnabled() { return delegate.isWarnEnabled(); }
+    @Override
+    public boolean isWarnEnabled(Marker marker) { return delegate.isWarnEnabled(marker); }
+    @Override
+    public boolean isErrorEnabled() { return delegate.isErrorEnabled(); }
+    @Override
+    public boolean isErrorEnabled(Marker marker) { return delegate.isErrorEnabled(marker); }
+}
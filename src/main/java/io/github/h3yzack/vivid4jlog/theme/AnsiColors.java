@@ -75,4 +75,31 @@ public class AnsiColors {
     public static String colorize(String text, String color) {
         return color + text + RESET;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Removes ANSI escape sequences such as colors and styles from text.
+     * 
+     * @param text the text to strip, may be null
+     * @return the text without escape sequences
+     */
+    public static String strip(String text) {
+        if (text == null || text.indexOf('\u001B') < 0) {
+            return text;
+        }
+        StringBuilder plain = new StringBuilder(text.length());
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\u001B' && i + 1 < length && text.charAt(i + 1) == '[') {
+                // skip parameters up to and including the final byte, e.g. the 'm' of "\u001B[31m"
+                i += 2;
+                while (i < length && (text.charAt(i) < '@' || text.charAt(i) > '~')) {
+                    i++;
+                }
+                continue;
+            }
+            plain.append(c);
+        }
+        return plain.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.h3yzack.vivid4jlog.theme;
+
+import java.io.Console;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+
+/**
+ * How much decoration is written, from full color and emoji down to plain text.
+ * {@link #AUTO} is resolved once, when the configuration is loaded or an appender starts,
+ * to the cheapest mode the destination can actually show; formatters are then built for
+ * that mode, so there is no per-event check.
+ *
+ * @author Zuhaimi A.
+ */
+public enum OutputMode {
+    /** Detect the mode from the attached console, its charset, {@code TERM} and {@code NO_COLOR}. */
+    AUTO,
+    /** Theme emoji, with ANSI colors unless colors are disabled. */
+    FULL,
+    /** Theme emoji without ANSI colors. */
+    EMOJI,
+    /** The MINIMAL theme without ANSI colors. */
+    MINIMAL,
+    /** No emoji and no colors; prefix, suffix and bound context are kept. */
+    PLAIN;
+
+    // Console.isTerminal() exists from JDK 22, where System.console() is no longer null when redirected
+    private static final Method IS_TERMINAL = isTerminalMethod();
+
+    /**
+     * Converts a string to the corresponding OutputMode.
+     *
+     * @param name the mode name, case-insensitive
+     * @return the matching OutputMode, or null if no match is found
+     */
+    public static OutputMode fromString(String name) {
+        for (OutputMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name == null ? "" : name.trim())) {
+                return mode;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Detects the cheapest mode the standard output can show for a theme.
+     * Without a console, for example when output is piped to a log collector, nobody sees
+     * emoji or colors and the result is {@link #PLAIN}.
+     *
+     * @param theme the theme that would be used
+     * @return the detected mode, never {@link #AUTO}
+     */
+    public static OutputMode detect(EmojiTheme theme) {
+        Console console = System.console();
+        boolean terminal = isTerminal(console);
+        return resolve(terminal, System.getenv("TERM"), System.getenv("NO_COLOR"),
+                terminal ? console.charset() : null, theme);
+    }
+
+    /**
+     * Checks if a console is attached to a terminal, using {@code Console.isTerminal()} where the
+     * JDK has it; on older JDKs any console is a terminal.
+     */
+    static boolean isTerminal(Console console) {
+        if (console == null) {
+            return false;
+        }
+        if (IS_TERMINAL == null) {
+            return true;
+        }
+        try {
+            return (Boolean) IS_TERMINAL.invoke(console);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return true;
+        }
+    }
+
+    private static Method isTerminalMethod() {
+        try {
+            return Console.class.getMethod("isTerminal");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    static OutputMode resolve(boolean console, String term, String noColor, Charset charset, EmojiTheme theme) {
+        if (!console) {
+            return PLAIN;
+        }
+        CharsetEncoder encoder = charset.newEncoder();
+        if ("dumb".equals(term) || !canEncode(encoder, theme)) {
+            return canEncode(encoder, EmojiTheme.MINIMAL) ? MINIMAL : PLAIN;
+        }
+        // https://no-color.org: any non-empty value disables colors
+        return noColor != null && !noColor.isEmpty() ? EMOJI : FULL;
+    }
+
+    private static boolean canEncode(CharsetEncoder encoder, EmojiTheme theme) {
+        for (String emoji : theme.getEmojiMap().values()) {
+            if (!encoder.canEncode(emoji)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,198 @@
+package io.github.h3yzack.vivid4jlog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import io.github.h3yzack.vivid4jlog.appender.Vivid4jLogAppender;
+import io.github.h3yzack.vivid4jlog.config.Vivid4jLogConfig;
+import io.github.h3yzack.vivid4jlog.theme.AnsiColors;
+import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress tests changing themes and configuration while many threads are logging.
+ */
+public class Vivid4jConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 5_000;
+
+    @Test
+    @Timeout(60)
+    void testThemeAndConfigChangesDuringLoggerTraffic() throws Exception {
+        Vivid4jLogger logger = Vivid4jLogger.create(Vivid4jConcurrencyTest.class);
+        Logger backing = (Logger) logger.unwrap();
+        CapturingAppender capture = new CapturingAppender();
+        capture.setContext(backing.getLoggerContext());
+        capture.start();
+        backing.setLevel(Level.INFO);
+        backing.setAdditive(false);
+        backing.addAppender(capture);
+
+        Vivid4jLogConfig global = Vivid4jLogConfig.getInstance();
+        boolean globalColor = global.isColorEnabled();
+        EmojiTheme globalTheme = global.getDefaultTheme();
+        try {
+            runWithMutator(
+                    (thread, i) -> {
+                        if (i % 2 == 0) {
+                            logger.info("payload-{}-{}", thread, i);
+                        } else {
+                            logger.success("payload-{}-{}", thread, i);
+                        }
+                    },
+                    step -> {
+                        EmojiTheme theme = EmojiTheme.values()[step % EmojiTheme.values().length];
+                        logger.setTheme(theme);
+                        global.setDefaultTheme(theme);
+                        global.setColorEnabled(step % 3 == 0);
+                        if (step % 5 == 0) {
+                            logger.getConfig().setColorEnabled(step % 2 == 0);
+                        }
+                    });
+        } finally {
+            global.setColorEnabled(globalColor);
+            global.setDefaultTheme(globalTheme);
+            backing.detachAppender(capture);
+            backing.setAdditive(true);
+            backing.setLevel(null);
+        }
+
+        assertCapturedWellFormed(capture.messages);
+    }
+
+    @Test
+    @Timeout(60)
+    void testThemeAndColorChangesDuringAppenderTraffic() throws Exception {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        Logger source = context.getLogger("stress.appender");
+
+        CapturingAppender capture = new CapturingAppender();
+        capture.setContext(context);
+        capture.start();
+        Vivid4jLogAppender appender = new Vivid4jLogAppender();
+        appender.setContext(context);
+        appender.addAppender(capture);
+        appender.start();
+
+        runWithMutator(
+                (thread, i) -> {
+                    Level level = i % 2 == 0 ? Level.INFO : Level.WARN;
+                    appender.doAppend(new LoggingEvent(Logger.FQCN, source, level,
+                            "payload-{}-{}", null, new Object[] { thread, i }));
+                },
+                step -> {
+                    appender.setTheme(EmojiTheme.values()[step % EmojiTheme.values().length].getName());
+                    appender.setColorEnabled(step % 2 == 0);
+                });
+        appender.stop();
+
+        assertCapturedWellFormed(capture.messages);
+    }
+
+    private interface LogCall {
+        void log(int thread, int index);
+    }
+
+    private interface Mutation {
+        void apply(int step);
+    }
+
+    /**
+     * Runs {@link #THREADS} logging threads while another thread keeps applying mutations.
+     */
+    private static void runWithMutator(LogCall call, Mutation mutation) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            Future<?> mutator = pool.submit(() -> {
+                start.await();
+                int step = 0;
+                while (running.get()) {
+                    mutation.apply(step++);
+                    Thread.yield();
+                }
+                return null;
+            });
+            List<Future<?>> loggers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                loggers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                        call.log(thread, i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : loggers) {
+                future.get();
+            }
+            running.set(false);
+            mutator.get();
+        } finally {
+            pool.shutdownNow();
+            assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private static void assertCapturedWellFormed(Queue<String> messages) {
+        assertThat(messages).hasSize(THREADS * EVENTS_PER_THREAD);
+        for (String message : messages) {
+            String plain = message;
+            if (plain.startsWith("\u001B[")) {
+                assertThat(plain).endsWith(AnsiColors.RESET);
+                plain = plain.substring(plain.indexOf('m') + 1, plain.length() - AnsiColors.RESET.length());
+            }
+            assertThat(plain).matches(".* payload-\\d+-\\d+");
+            assertThat(hasKnownDecoration(plain)).as("decoration of [%s]", message).isTrue();
+        }
+    }
+
+    private static boolean hasKnownDecoration(String plain) {
+        String prefix = Vivid4jLogConfig.getInstance().getCustomPrefix();
+        String body = prefix.isEmpty() ? plain : plain.substring(prefix.length() + 1);
+        for (EmojiTheme theme : EmojiTheme.values()) {
+            for (String emoji : theme.getEmojiMap().values()) {
+                if (body.startsWith(emoji + "payload-")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Thread-safe capture of formatted messages.
+     */
+    private static final class CapturingAppender extends AppenderBase<ILoggingEvent> {
+        private final Queue<String> messages = new ConcurrentLinkedQueue<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            messages.add(event.getFormattedMessage());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.h3yzack.vivid4jlog;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the hot path against allocation regressions, measured with
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}.
+ */
+public class Vivid4jLoggerAllocationTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 10_000;
+    private static final int ROUNDS = 5;
+    private static final long MAX_BYTES_PER_ENABLED_CALL = 2048;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Object arg1 = "alpha";
+    private final Object arg2 = "beta";
+    private final Throwable failure = new IllegalStateException("boom");
+
+    private Vivid4jLogger logger;
+    private Logger backing;
+    private CountingAppender counter;
+
+    @BeforeEach
+    void setUp() {
+        assertThat(THREADS.isThreadAllocatedMemorySupported()).isTrue();
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        logger = Vivid4jLogger.create(Vivid4jLoggerAllocationTest.class);
+        backing = (Logger) logger.unwrap();
+        counter = new CountingAppender();
+        counter.setContext(backing.getLoggerContext());
+        counter.start();
+        backing.setAdditive(false);
+        backing.addAppender(counter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backing.detachAppender(counter);
+        backing.setAdditive(true);
+        backing.setLevel(null);
+    }
+
+    @Test
+    void testDisabledLevelsAllocateNothing() {
+        backing.setLevel(Level.OFF);
+        Runnable calls = () -> {
+            logger.trace("trace {}", arg1);
+            logger.debug("debug {} {}", arg1, arg2);
+            logger.info("info");
+            logger.warn("warn {}", arg1);
+            logger.error("error", failure);
+            logger.success("success {}", arg1);
+            logger.completed("completed {} {}", arg1, arg2);
+            logger.celebrate("celebrate");
+            logger.thinking("thinking");
+        };
+
+        assertThat(allocatedBytes(calls)).isZero();
+        assertThat(counter.count).isZero();
+    }
+
+    @Test
+    void testLevelsBelowThresholdAllocateNothing() {
+        backing.setLevel(Level.WARN);
+        Runnable calls = () -> {
+            logger.trace("trace {}", arg1);
+            logger.debug("debug {} {}", arg1, arg2);
+            logger.info("info {}", arg1);
+            logger.success("success");
+            logger.completed("completed", failure);
+        };
+
+        assertThat(allocatedBytes(calls)).isZero();
+        assertThat(counter.count).isZero();
+    }
+
+    @Test
+    void testEnabledLevelsAllocateBoundedBytes() {
+        backing.setLevel(Level.INFO);
+
+        assertThat(bytesPerCall(() -> logger.info("order {} accepted", arg1)))
+                .isPositive()
+                .isLessThanOrEqualTo(MAX_BYTES_PER_ENABLED_CALL);
+        assertThat(bytesPerCall(() -> logger.warn("order {} delayed by {}", arg1, arg2)))
+                .isLessThanOrEqualTo(MAX_BYTES_PER_ENABLED_CALL);
+        assertThat(bytesPerCall(() -> logger.success("order shipped")))
+                .isLessThanOrEqualTo(MAX_BYTES_PER_ENABLED_CALL);
+        assertThat(counter.count).isEqualTo(3L * (WARMUP + ROUNDS * ITERATIONS));
+    }
+
+    private static long bytesPerCall(Runnable call) {
+        return allocatedBytes(call) / ITERATIONS;
+    }
+
+    /**
+     * Returns the fewest bytes allocated by {@link #ITERATIONS} calls over several rounds,
+     * so one-off JIT or class-loading activity on the test thread is not counted.
+     */
+    private static long allocatedBytes(Runnable call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        long min = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < ITERATIONS; i++) {
+                call.run();
+            }
+            min = Math.min(min, THREADS.getCurrentThreadAllocatedBytes() - start);
+        }
+        return min;
+    }
+
+    /**
+     * Counts events without touching their message, so only the logging path itself allocates.
+     */
+    private static final class CountingAppender extends AppenderBase<ILoggingEvent> {
+        private long count;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            count++;
+        }
+    }
+}
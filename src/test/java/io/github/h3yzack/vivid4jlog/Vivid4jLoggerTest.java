@@ -1,10 +1,26 @@
 package io.github.h3yzack.vivid4jlog;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.h3yzack.vivid4jlog.appender.Vivid4jLogAppender;
+import io.github.h3yzack.vivid4jlog.appender.Vivid4jLoggingEvent;
 import io.github.h3yzack.vivid4jlog.config.LoggerConfigWrapper;
+import io.github.h3yzack.vivid4jlog.config.Vivid4jLogConfig;
+import io.github.h3yzack.vivid4jlog.format.MessageLimits;
+import io.github.h3yzack.vivid4jlog.format.TemplateCache;
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+import io.github.h3yzack.vivid4jlog.theme.AnsiColors;
 import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+import io.github.h3yzack.vivid4jlog.theme.OutputMode;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -32,6 +48,55 @@ public class Vivid4jLoggerTest {
         assertThat(logger.getCurrentTheme()).isEqualTo(EmojiTheme.TECH);
     }
 
+    @Test
+    void testThemeChangeReachesFormatter() {
+        logger.setTheme(EmojiTheme.NATURE);
+        assertThat(logger.format("INFO", "msg")).contains(EmojiTheme.NATURE.getEmojiMap().get("INFO"));
+
+        logger.setTheme(EmojiTheme.TECH);
+        assertThat(logger.format("INFO", "msg")).contains(EmojiTheme.TECH.getEmojiMap().get("INFO"));
+    }
+
+    @Test
+    void testColorChangesReachFormatter() {
+        Vivid4jLogConfig global = Vivid4jLogConfig.getInstance();
+        boolean colorEnabled = global.isColorEnabled();
+        try {
+            global.setColorEnabled(true);
+            assertThat(logger.format("WARN", "msg")).contains(AnsiColors.RESET);
+
+            global.setColorEnabled(false);
+            assertThat(logger.format("WARN", "msg")).doesNotContain(AnsiColors.RESET);
+
+            logger.getConfig().setColorEnabled(true);
+            assertThat(logger.format("WARN", "msg")).contains(AnsiColors.RESET);
+        } finally {
+            global.setColorEnabled(colorEnabled);
+        }
+    }
+
+    @Test
+    void testDynamicMessagesBypassTemplateCache() throws InterruptedException {
+        TemplateCache cache = Vivid4jLogConfig.getInstance().getTemplateCache();
+        cache.clear();
+
+        List<WeakReference<String>> messages = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String message = "request " + i + " done";
+            messages.add(new WeakReference<>(message));
+            logger.warn(message);
+        }
+        logger.warn("request {} done", 42);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        for (int i = 0; i < 50 && messages.stream().anyMatch(ref -> ref.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(messages).allMatch(ref -> ref.get() == null);
+    }
+
     @Test
     void testEmojiThemeMapping() {
         for (EmojiTheme theme : EmojiTheme.values()) {
@@ -88,4 +153,289 @@ public class Vivid4jLoggerTest {
         logger.progress("Progress message");
         logger.tada("Tada message");
     }
+
+    @Test
+    void testBatchEmitsOneContiguousEvent() {
+        ListAppender<ILoggingEvent> events = capture(Level.INFO);
+        try {
+            logger.batch(VividLevel.SUCCESS)
+                    .line("Report for {}", "monday")
+                    .line("orders: {} / {}", 40, 42)
+                    .line("literal {} kept")
+                    .emit();
+
+            assertThat(events.list).hasSize(1);
+            ILoggingEvent event = events.list.get(0);
+            String[] lines = event.getFormattedMessage().split(System.lineSeparator());
+            assertThat(lines).containsExactly(
+                    logger.format("SUCCESS", "Report for monday"),
+                    logger.format("SUCCESS", "orders: 40 / 42"),
+                    logger.format("SUCCESS", "literal {} kept"));
+            assertThat(event.getMarkerList()).containsExactly(VividLevel.SUCCESS.getMarker());
+        } finally {
+            release(events);
+        }
+    }
+
+    @Test
+    void testBatchForDisabledLevelIsNoop() {
+        ListAppender<ILoggingEvent> events = capture(Level.WARN);
+        try {
+            LogBatch batch = logger.batch(VividLevel.INFO).line("ignored {}", 1);
+            batch.emit();
+
+            assertThat(batch.size()).isZero();
+            assertThat(events.list).isEmpty();
+        } finally {
+            release(events);
+        }
+    }
+
+    @Test
+    void testChildLoggerRendersBoundContext() {
+        ListAppender<ILoggingEvent> events = capture(Level.INFO);
+        try {
+            Vivid4jLogger child = logger.with("job", 42).with("tenant", "acme");
+            child.info("Started {}", "import");
+            logger.info("No context");
+
+            ILoggingEvent event = events.list.get(0);
+            assertThat(event.getFormattedMessage()).contains("[job=42 tenant=acme] Started import");
+            assertThat(event.getKeyValuePairs()).extracting(pair -> pair.key + "=" + pair.value)
+                    .containsExactly("job=42", "tenant=acme");
+            assertThat(events.list.get(1).getFormattedMessage()).doesNotContain("job=");
+            assertThat(child.getContext()).hasSize(2);
+            assertThat(logger.getContext()).isEmpty();
+        } finally {
+            release(events);
+        }
+    }
+
+    @Test
+    void testChildLoggerFollowsParentTheme() {
+        Vivid4jLogger child = logger.with("request", "r-1");
+        assertThat(child.format("WARN", "msg")).contains(EmojiTheme.CLASSIC.getEmojiMap().get("WARN") + "[request=r-1] msg");
+
+        logger.setTheme(EmojiTheme.GAMING);
+        assertThat(child.getCurrentTheme()).isEqualTo(EmojiTheme.GAMING);
+        assertThat(child.format("WARN", "msg")).contains(EmojiTheme.GAMING.getEmojiMap().get("WARN") + "[request=r-1] msg");
+    }
+
+    @Test
+    void testChildLoggerReportsCallerOfLogMethod() {
+        Logger backing = (Logger) logger.unwrap();
+        List<StackTraceElement> callers = new ArrayList<>();
+        ListAppender<ILoggingEvent> events = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                callers.add(event.getCallerData()[0]);
+                super.append(event);
+            }
+        };
+        events.setContext(backing.getLoggerContext());
+        events.start();
+        backing.addAppender(events);
+        try {
+            Vivid4jLogger child = logger.with("job", 1);
+            child.warn("caller check");
+            child.batch(VividLevel.WARN).line("in batch").emit();
+            child.unwrap().warn("direct {}", 1);
+            child.unwrap().atWarn().addKeyValue("step", 2).log("fluent");
+
+            assertThat(callers).hasSize(4).allSatisfy(caller ->
+                    assertThat(caller.getClassName()).isEqualTo(Vivid4jLoggerTest.class.getName()));
+            assertThat(events.list.get(3).getKeyValuePairs()).extracting(pair -> pair.key).containsExactly("job", "step");
+        } finally {
+            backing.detachAppender(events);
+        }
+    }
+
+    @Test
+    void testOutputModeReachesFormatter() {
+        Vivid4jLogConfig global = Vivid4jLogConfig.getInstance();
+        try {
+            global.setOutputMode(OutputMode.PLAIN);
+            assertThat(logger.format("INFO", "msg")).isEqualTo("msg");
+            global.setOutputMode(null);
+            assertThat(global.getOutputMode()).isEqualTo(OutputMode.PLAIN);
+            assertThat(logger.with("job", 2).format("INFO", "msg")).isEqualTo("[job=2] msg");
+
+            global.setOutputMode(OutputMode.MINIMAL);
+            assertThat(logger.format("INFO", "msg")).contains(EmojiTheme.MINIMAL.getEmojiMap().get("INFO") + "msg")
+                    .doesNotContain(AnsiColors.RESET);
+
+            global.setOutputMode(OutputMode.AUTO);
+            // no console while testing
+            assertThat(global.getOutputMode()).isEqualTo(OutputMode.PLAIN);
+        } finally {
+            global.setOutputMode(OutputMode.FULL);
+        }
+    }
+
+    @Test
+    void testThemeSurvivesMinimalOutputRoundTrip() {
+        Vivid4jLogConfig global = Vivid4jLogConfig.getInstance();
+        Vivid4jLogger nature = Vivid4jLogger.create(Vivid4jLoggerTest.class, EmojiTheme.NATURE);
+        String expected = nature.format("INFO", "msg");
+        try {
+            global.setOutputMode(OutputMode.MINIMAL);
+            assertThat(nature.format("INFO", "msg")).contains(EmojiTheme.MINIMAL.getEmojiMap().get("INFO") + "msg");
+            assertThat(nature.getCurrentTheme()).isEqualTo(EmojiTheme.NATURE);
+
+            global.setOutputMode(OutputMode.FULL);
+            assertThat(nature.format("INFO", "msg")).isEqualTo(expected)
+                    .contains(EmojiTheme.NATURE.getEmojiMap().get("INFO") + "msg");
+            assertThat(nature.getCurrentTheme()).isEqualTo(EmojiTheme.NATURE);
+        } finally {
+            global.setOutputMode(OutputMode.FULL);
+        }
+    }
+
+    @Test
+    void testRootLoggerReportsCallerOfLogMethod() {
+        Logger backing = (Logger) logger.unwrap();
+        List<StackTraceElement> callers = new ArrayList<>();
+        ListAppender<ILoggingEvent> events = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                callers.add(event.getCallerData()[0]);
+                super.append(event);
+            }
+        };
+        events.setContext(backing.getLoggerContext());
+        events.start();
+        backing.addAppender(events);
+        try {
+            logger.warn("plain");
+            logger.warn("with {} and {}", 1, 2);
+            logger.error("failed", new IllegalStateException("boom"));
+            logger.success("done");
+            logger.batch(VividLevel.WARN).line("first").line("second").emit();
+
+            assertThat(callers).hasSize(5);
+            assertThat(callers).allSatisfy(caller -> {
+                assertThat(caller.getClassName()).isEqualTo(Vivid4jLoggerTest.class.getName());
+                assertThat(caller.getMethodName()).isEqualTo("testRootLoggerReportsCallerOfLogMethod");
+            });
+        } finally {
+            backing.detachAppender(events);
+        }
+    }
+
+    @Test
+    void testChunkedMessagesReportCallerOfLogMethod() {
+        Vivid4jLogConfig global = Vivid4jLogConfig.getInstance();
+        Logger backing = (Logger) logger.unwrap();
+        List<StackTraceElement> callers = new ArrayList<>();
+        ListAppender<ILoggingEvent> events = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                callers.add(event.getCallerData()[0]);
+                super.append(event);
+            }
+        };
+        events.setContext(backing.getLoggerContext());
+        events.start();
+        backing.addAppender(events);
+        try {
+            global.setMessageLimits(MessageLimits.of(10, 0, true));
+            logger.warn("{}", "0123456789abcdefghij-");
+            global.setMessageLimits(MessageLimits.of(10, 4, false));
+            logger.warn("cut {}", "0123456789");
+
+            assertThat(events.list).hasSize(4);
+            assertThat(callers).allSatisfy(caller -> {
+                assertThat(caller.getClassName()).isEqualTo(Vivid4jLoggerTest.class.getName());
+                assertThat(caller.getMethodName()).isEqualTo("testChunkedMessagesReportCallerOfLogMethod");
+            });
+        } finally {
+            global.setMessageLimits(MessageLimits.NONE);
+            backing.detachAppender(events);
+        }
+    }
+
+    @Test
+    void testStackWalkerCallerDataIsLocatedOnlyWhenRequested() {
+        Logger backing = (Logger) logger.unwrap();
+        List<StackTraceElement> callers = new ArrayList<>();
+        List<Boolean> capturedByLogback = new ArrayList<>();
+        ListAppender<ILoggingEvent> sink = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                if (event.getFormattedMessage().contains("located")) {
+                    callers.add(event.getCallerData()[0]);
+                }
+                capturedByLogback.add(((Vivid4jLoggingEvent) event).getOriginalEvent().hasCallerData());
+                super.append(event);
+            }
+        };
+        sink.setContext(backing.getLoggerContext());
+        sink.start();
+        Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+        vivid.setContext(backing.getLoggerContext());
+        vivid.setStackWalkerCallerData(true);
+        vivid.addAppender(sink);
+        vivid.start();
+        backing.addAppender(vivid);
+        try {
+            logger.warn("located {}", 1);
+            logger.batch(VividLevel.WARN).line("located in batch").emit();
+            logger.with("job", 7).warn("located in child");
+            logger.warn("not asked");
+
+            assertThat(sink.list).hasSize(4);
+            assertThat(callers).hasSize(3).allSatisfy(caller ->
+                    assertThat(caller.getClassName()).isEqualTo(Vivid4jLoggerTest.class.getName()));
+            assertThat(capturedByLogback).containsOnly(false);
+            assertThat(sink.list.get(3).hasCallerData()).isFalse();
+        } finally {
+            backing.detachAppender(vivid);
+            vivid.stop();
+        }
+    }
+
+    @Test
+    void testMessageLimitsTruncateAndChunkLargePayloads() {
+        Vivid4jLogConfig global = Vivid4jLogConfig.getInstance();
+        ListAppender<ILoggingEvent> events = capture(Level.INFO);
+        try {
+            global.setMessageLimits(MessageLimits.of(40, 8, false));
+            IllegalStateException failure = new IllegalStateException("boom");
+            logger.warn("payload {} done", "x".repeat(1_000_000), failure);
+
+            ILoggingEvent truncated = events.list.get(0);
+            assertThat(truncated.getFormattedMessage())
+                    .isEqualTo(logger.format("WARN", "payload xxxxxxxx\u2026(+999992 chars) done"));
+            assertThat(truncated.getThrowableProxy().getMessage()).isEqualTo("boom");
+
+            global.setMessageLimits(MessageLimits.of(10, 0, true));
+            logger.info("{}", "0123456789abcdefghij-");
+
+            assertThat(events.list.subList(1, events.list.size())).extracting(ILoggingEvent::getFormattedMessage).containsExactly(
+                    logger.format("INFO", "(part 1) 0123456789"),
+                    logger.format("INFO", "(part 2) abcdefghij"),
+                    logger.format("INFO", "(part 3, last) -"));
+        } finally {
+            global.setMessageLimits(MessageLimits.NONE);
+            release(events);
+        }
+    }
+
+    private ListAppender<ILoggingEvent> capture(Level level) {
+        Logger backing = (Logger) logger.unwrap();
+        ListAppender<ILoggingEvent> events = new ListAppender<>();
+        events.setContext(backing.getLoggerContext());
+        events.start();
+        backing.setLevel(level);
+        backing.setAdditive(false);
+        backing.addAppender(events);
+        return events;
+    }
+
+    private void release(ListAppender<ILoggingEvent> events) {
+        Logger backing = (Logger) logger.unwrap();
+        backing.detachAppender(events);
+        backing.setAdditive(true);
+        backing.setLevel(null);
+    }
 }
@@ -0,0 +1,130 @@
+package io.github.h3yzack.vivid4jlog.appender;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.util.FileSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressedFileAppenderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LoggerContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @Test
+    void testCompressedOutputRoundTrip() throws IOException {
+        CompressedFileAppender appender = startAppender("app.log.gz", null);
+        Logger logger = logger(appender);
+
+        logger.info("first line");
+        logger.warn("second line");
+        appender.stop();
+
+        assertThat(gunzip(tempDir.resolve("app.log.gz"))).isEqualTo("INFO first line\nWARN second line\n");
+    }
+
+    @Test
+    void testSyncFlushMakesTailReadableBeforeClose() throws IOException {
+        CompressedFileAppender appender = startAppender("app.log.gz", null);
+        Logger logger = logger(appender);
+
+        logger.info("buffered line");
+        logger.error("flushed line");
+
+        // the stream is still open, so the gzip trailer is missing; read what is decodable
+        String partial = gunzipPartial(tempDir.resolve("app.log.gz"));
+        assertThat(partial).contains("INFO buffered line").contains("ERROR flushed line");
+        appender.stop();
+    }
+
+    @Test
+    void testSegmentRollover() throws IOException {
+        CompressedFileAppender appender = startAppender("app.log.gz", FileSize.valueOf("4kb"));
+        Logger logger = logger(appender);
+
+        for (int i = 0; i < 20000; i++) {
+            logger.info("event {} with some payload {}", i, Integer.toHexString(i * 7919));
+        }
+        appender.stop();
+
+        File[] segments = tempDir.toFile().listFiles((dir, name) -> name.matches("app\\.log\\.\\d+\\.gz"));
+        assertThat(segments).isNotEmpty();
+        StringBuilder all = new StringBuilder();
+        for (int i = 1; i <= segments.length; i++) {
+            all.append(gunzip(tempDir.resolve("app.log." + i + ".gz")));
+        }
+        all.append(gunzip(tempDir.resolve("app.log.gz")));
+        assertThat(all.toString().split("\n")).hasSize(20000);
+        assertThat(all.toString()).startsWith("INFO event 0 ").contains("INFO event 19999 ");
+    }
+
+    private CompressedFileAppender startAppender(String file, FileSize maxSegmentSize) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%level %msg%n");
+        encoder.start();
+
+        CompressedFileAppender appender = new CompressedFileAppender();
+        appender.setContext(context);
+        appender.setFile(tempDir.resolve(file).toString());
+        appender.setEncoder(encoder);
+        if (maxSegmentSize != null) {
+            appender.setMaxSegmentSize(maxSegmentSize);
+        }
+        appender.start();
+        assertThat(appender.isStarted()).isTrue();
+        return appender;
+    }
+
+    private Logger logger(CompressedFileAppender appender) {
+        Logger logger = context.getLogger("compressed.test");
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private static String gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String gunzipPartial(Path file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+        } catch (java.io.EOFException e) {
+            // expected for an unfinished stream
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,228 @@
+package io.github.h3yzack.vivid4jlog.appender;
+
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.util.FileSize;
+import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NioSocketAppenderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LoggerContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void testShipsDecoratedLinesOverTcp() throws Exception {
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0))) {
+            NioSocketAppender socket = new NioSocketAppender();
+            socket.setPort(((InetSocketAddress) server.getLocalAddress()).getPort());
+            socket.setColorEnabled(false);
+            Logger logger = logger(themed(socket));
+
+            for (int i = 0; i < 500; i++) {
+                logger.info("shipped {}", i);
+            }
+            try (SocketChannel client = server.accept()) {
+                List<String> lines = readLines(client, 500);
+                assertThat(lines).hasSize(500);
+                assertThat(lines.get(0)).isEqualTo(EmojiTheme.CLASSIC.getEmojiMap().get("INFO") + "shipped 0");
+                assertThat(lines.get(499)).endsWith("shipped 499").doesNotContain("\u001B[");
+            }
+            assertThat(socket.getSentEvents()).isEqualTo(500);
+            assertThat(socket.getDroppedEvents()).isZero();
+        }
+    }
+
+    @Test
+    void testSpillsWhileDisconnectedAndDropsBeyondSpillSize() throws Exception {
+        ServerSocketChannel probe = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+        int port = ((InetSocketAddress) probe.getLocalAddress()).getPort();
+        probe.close();
+
+        NioSocketAppender socket = new NioSocketAppender();
+        socket.setPort(port);
+        socket.setSpillSize(new FileSize(1000));
+        socket.setReconnectDelay(20);
+        socket.setMaxReconnectDelay(50);
+        Logger logger = logger(plain(socket));
+
+        // 100 lines of 20 bytes, only 50 fit into the spill buffer
+        for (int i = 0; i < 100; i++) {
+            logger.info(String.format("queued line %07d", i));
+        }
+        assertThat(socket.isConnected()).isFalse();
+        assertThat(socket.getDroppedEvents()).isEqualTo(50);
+        assertThat(socket.getDroppedBytes()).isEqualTo(1000);
+        assertThat(socket.getPendingBytes()).isEqualTo(1000);
+
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.setOption(java.net.StandardSocketOptions.SO_REUSEADDR, true);
+            server.bind(new InetSocketAddress("127.0.0.1", port));
+            try (SocketChannel client = server.accept()) {
+                List<String> lines = readLines(client, 50);
+                assertThat(lines).hasSize(50);
+                assertThat(lines.get(0)).isEqualTo("queued line 0000000");
+                assertThat(lines.get(49)).isEqualTo("queued line 0000049");
+                awaitTrue(socket::isConnected);
+                assertThat(socket.getConnectCount()).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    void testResendsWholeLinesAfterConnectionBreaksMidWrite() throws Exception {
+        ServerSocketChannel probe = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+        int port = ((InetSocketAddress) probe.getLocalAddress()).getPort();
+        probe.close();
+
+        NioSocketAppender socket = new NioSocketAppender();
+        socket.setPort(port);
+        socket.setSpillSize(new FileSize(16 * 1024 * 1024));
+        socket.setReconnectDelay(10);
+        socket.setMaxReconnectDelay(20);
+        Logger logger = logger(plain(socket));
+        String padding = "x".repeat(10_000);
+        int count = 600;
+
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.setOption(java.net.StandardSocketOptions.SO_REUSEADDR, true);
+            server.bind(new InetSocketAddress("127.0.0.1", port));
+            for (int i = 0; i < count; i++) {
+                logger.info(String.format("line %05d %s", i, padding));
+            }
+            // take a little, then hang up while the appender is still writing
+            try (SocketChannel first = server.accept()) {
+                first.read(ByteBuffer.allocate(50_000));
+            }
+            try (SocketChannel second = server.accept()) {
+                second.configureBlocking(false);
+                ByteBuffer received = ByteBuffer.allocate(count * padding.length() * 2);
+                long deadline = System.currentTimeMillis() + 5000;
+                long idleSince = System.currentTimeMillis();
+                while (System.currentTimeMillis() < deadline && System.currentTimeMillis() - idleSince < 200) {
+                    int read = second.read(received);
+                    if (read < 0) {
+                        break;
+                    }
+                    if (read > 0) {
+                        idleSince = System.currentTimeMillis();
+                    }
+                    Thread.sleep(1);
+                }
+                String text = new String(received.array(), 0, received.position(), StandardCharsets.UTF_8);
+                String[] lines = text.split("\n");
+                assertThat(lines.length).isGreaterThan(0);
+                for (int i = 0; i < lines.length - (text.endsWith("\n") ? 0 : 1); i++) {
+                    assertThat(lines[i]).matches("line \\d{5} x{10000}");
+                }
+            }
+        }
+        assertThat(socket.getSentEvents()).isLessThanOrEqualTo(count);
+    }
+
+    @Test
+    void testUnixDomainSocket() throws Exception {
+        Path path = tempDir.resolve("agent.sock");
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(path));
+            NioSocketAppender socket = new NioSocketAppender();
+            socket.setPath(path.toString());
+            Logger logger = logger(plain(socket));
+
+            logger.warn("over unix socket");
+            try (SocketChannel client = server.accept()) {
+                assertThat(readLines(client, 1)).containsExactly("over unix socket");
+            }
+        }
+    }
+
+    private Vivid4jLogAppender themed(NioSocketAppender socket) {
+        socket.setContext(context);
+        socket.setName("SOCKET");
+        socket.start();
+        Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+        vivid.setContext(context);
+        vivid.addAppender(socket);
+        vivid.start();
+        return vivid;
+    }
+
+    private NioSocketAppender plain(NioSocketAppender socket) {
+        socket.setContext(context);
+        socket.setName("SOCKET");
+        socket.start();
+        return socket;
+    }
+
+    private Logger logger(ch.qos.logback.core.Appender<ch.qos.logback.classic.spi.ILoggingEvent> appender) {
+        Logger logger = context.getLogger("socket.test");
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private static List<String> readLines(SocketChannel client, int count) throws Exception {
+        client.configureBlocking(false);
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long deadline = System.currentTimeMillis() + 5000;
+        int newlines = 0;
+        while (newlines < count && System.currentTimeMillis() < deadline) {
+            int position = buffer.position();
+            if (client.read(buffer) < 0) {
+                break;
+            }
+            for (int i = position; i < buffer.position(); i++) {
+                if (buffer.get(i) == '\n') {
+                    newlines++;
+                }
+            }
+            Thread.sleep(5);
+        }
+        String text = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>(Arrays.asList(text.split("\n")));
+        lines.removeIf(String::isEmpty);
+        return lines;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package io.github.h3yzack.vivid4jlog.appender;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Vivid4jLogAppenderAdaptiveTest {
+
+    private static final long MS = 1_000_000L;
+
+    private LoggerContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void testGovernorStepsDownPerHotWindowAndUpWithHysteresis() {
+        // 100 ms windows: more than 100 events per window is too many, fewer than 50 is quiet
+        LoadGovernor governor = new LoadGovernor(100, 1000, 1_000_000, 2, 0);
+
+        assertThat(window(governor, 1, 200)).isEqualTo(DegradationLevel.MINIMAL);
+        assertThat(window(governor, 2, 200)).isEqualTo(DegradationLevel.PLAIN);
+        assertThat(window(governor, 3, 200)).isEqualTo(DegradationLevel.SHED_VERBOSE);
+        assertThat(window(governor, 4, 200)).isNull();
+        assertThat(governor.getEventRate()).isEqualTo(2000.0);
+
+        // one quiet window is not enough, and a window in between resets the count
+        assertThat(window(governor, 5, 10)).isNull();
+        assertThat(window(governor, 6, 70)).isNull();
+        assertThat(window(governor, 7, 10)).isNull();
+        assertThat(window(governor, 8, 10)).isEqualTo(DegradationLevel.PLAIN);
+        assertThat(governor.getTransitionCount()).isEqualTo(4);
+    }
+
+    @Test
+    void testGovernorReactsToAppendLatency() {
+        LoadGovernor governor = new LoadGovernor(100, 1_000_000, 500, 1, 0);
+
+        for (int i = 0; i < 10; i++) {
+            governor.onEvent(i);
+            governor.onDelivered(2 * MS);
+        }
+        assertThat(governor.onEvent(100 * MS)).isEqualTo(DegradationLevel.MINIMAL);
+        assertThat(governor.getAppendLatencyMicros()).isEqualTo(2000);
+    }
+
+    @Test
+    void testAppenderDegradesUnderLoadAndRecovers() throws Exception {
+        ListAppender<ILoggingEvent> sink = new ListAppender<>();
+        sink.setContext(context);
+        sink.start();
+        Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+        vivid.setContext(context);
+        vivid.setColorEnabled(false);
+        vivid.setAdaptive(true);
+        vivid.setAdaptiveWindow(10);
+        vivid.setMaxEventRate(1000);
+        vivid.setMaxAppendLatency(1_000_000);
+        vivid.setRecoveryWindows(1);
+        vivid.addAppender(sink);
+        vivid.start();
+        Logger logger = context.getLogger("adaptive.test");
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(vivid);
+        LoadGovernor governor = vivid.getLoadGovernor();
+
+        String emoji = EmojiTheme.CLASSIC.getEmojiMap().get("INFO");
+        logger.info("first");
+        assertThat(sink.list.get(0).getFormattedMessage()).isEqualTo(emoji + "first");
+
+        repeatUntil(() -> governor.getLevel() == DegradationLevel.SHED_VERBOSE, () -> {
+            logger.debug("verbose");
+            logger.info("busy");
+        });
+        int shedFrom = sink.list.size();
+        logger.debug("dropped");
+        logger.info("plain");
+
+        assertThat(governor.getShedCount()).isGreaterThan(0);
+        assertThat(messages(sink.list.subList(shedFrom, sink.list.size()))).containsExactly("plain");
+        assertThat(messages(sink.list)).contains(EmojiTheme.MINIMAL.getEmojiMap().get("INFO") + "busy", "busy");
+
+        repeatUntil(() -> governor.getLevel() == DegradationLevel.FULL, () -> {
+            sleep(15);
+            logger.info("quiet");
+        });
+
+        List<String> transitions = sink.list.stream()
+                .filter(event -> event.getLevel() == Level.WARN)
+                .map(ILoggingEvent::getFormattedMessage)
+                .collect(Collectors.toList());
+        // a stall on a slow machine can add an early recovery, so only the path is checked
+        assertThat(transitions).hasSizeGreaterThanOrEqualTo(6).hasSize((int) governor.getTransitionCount());
+        assertThat(transitions.get(0)).startsWith(EmojiTheme.CLASSIC.getEmojiMap().get("WARN") + "Logging load high")
+                .endsWith("reduced from FULL to MINIMAL");
+        assertThat(transitions).anyMatch(message -> message.endsWith("reduced from PLAIN to SHED_VERBOSE"));
+        assertThat(transitions.get(transitions.size() - 1)).contains("Logging load eased")
+                .endsWith("raised from MINIMAL to FULL");
+    }
+
+    @Test
+    void testTransitionsAreDeliveredInFanOutMode() {
+        List<String> mdcChecked = new java.util.concurrent.CopyOnWriteArrayList<>();
+        ListAppender<ILoggingEvent> sink = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                // what a %X layout does
+                event.getMDCPropertyMap();
+                mdcChecked.add(event.getFormattedMessage());
+                super.append(event);
+            }
+        };
+        sink.setContext(context);
+        sink.setName("SINK");
+        sink.start();
+        Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+        vivid.setContext(context);
+        vivid.setColorEnabled(false);
+        vivid.setFanOut(true);
+        vivid.setAdaptive(true);
+        vivid.setAdaptiveWindow(1);
+        vivid.setMaxEventRate(10);
+        vivid.addAppender(sink);
+        vivid.start();
+        Logger logger = context.getLogger("adaptive.fanout");
+        logger.setAdditive(false);
+        logger.addAppender(vivid);
+        LoadGovernor governor = vivid.getLoadGovernor();
+
+        repeatUntil(() -> governor.getTransitionCount() >= 2, () -> logger.info("busy"));
+        vivid.stop();
+
+        long transitions = governor.getTransitionCount();
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+                .noneMatch(status -> status.getLevel() == ch.qos.logback.core.status.Status.ERROR);
+        assertThat(mdcChecked.stream().filter(message -> message.contains("Logging load")).count())
+                .isEqualTo(transitions);
+    }
+
+    @Test
+    void testFanOutLatencyIsMeasuredBySinkWorkers() {
+        ListAppender<ILoggingEvent> slow = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                sleep(5);
+                super.append(event);
+            }
+        };
+        slow.setContext(context);
+        slow.setName("SLOW");
+        slow.start();
+        Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+        vivid.setContext(context);
+        vivid.setColorEnabled(false);
+        vivid.setFanOut(true);
+        vivid.setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+        vivid.setAdaptive(true);
+        vivid.setAdaptiveWindow(20);
+        vivid.setMaxEventRate(1_000_000);
+        vivid.setMaxAppendLatency(1000);
+        vivid.addAppender(slow);
+        vivid.start();
+        Logger logger = context.getLogger("adaptive.slow");
+        logger.setAdditive(false);
+        logger.addAppender(vivid);
+        LoadGovernor governor = vivid.getLoadGovernor();
+
+        // enqueueing is fast; only the time the worker spends in the sink can trigger this
+        repeatUntil(() -> governor.getLevel() != DegradationLevel.FULL, () -> {
+            logger.info("slow sink");
+            sleep(1);
+        });
+        vivid.stop();
+
+        assertThat(governor.getAppendLatencyMicros()).isGreaterThanOrEqualTo(1000);
+    }
+
+    private static DegradationLevel window(LoadGovernor governor, int index, int events) {
+        long start = (index - 1) * 100 * MS;
+        for (int i = 1; i < events; i++) {
+            assertThat(governor.onEvent(start + i)).isNull();
+        }
+        return governor.onEvent(index * 100 * MS);
+    }
+
+    private static List<String> messages(List<ILoggingEvent> events) {
+        return events.stream().map(ILoggingEvent::getFormattedMessage).collect(Collectors.toList());
+    }
+
+    private static void repeatUntil(BooleanSupplier condition, Runnable action) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            action.run();
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
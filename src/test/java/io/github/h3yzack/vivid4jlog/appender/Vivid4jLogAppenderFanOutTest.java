@@ -0,0 +1,218 @@
+package io.github.h3yzack.vivid4jlog.appender;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Vivid4jLogAppenderFanOutTest {
+
+    private LoggerContext context;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        context.stop();
+    }
+
+    @Test
+    void testStalledSinkDoesNotHoldBackOthers() throws Exception {
+        RecordingAppender fast = sink("FAST", null);
+        RecordingAppender stalled = sink("STALLED", release);
+        Vivid4jLogAppender vivid = vivid(fast, stalled, "STALLED=DROP_NEWEST:4");
+        Logger logger = logger(vivid);
+
+        for (int i = 0; i < 100; i++) {
+            logger.info("event {}", i);
+        }
+
+        awaitTrue(() -> fast.messages.size() == 100);
+        assertThat(fast.messages.get(99)).contains("event 99");
+        SinkWorker stalledWorker = worker(vivid, "STALLED");
+        assertThat(stalledWorker.getPolicy()).isEqualTo(OverflowPolicy.DROP_NEWEST);
+        assertThat(stalledWorker.getCapacity()).isEqualTo(4);
+        assertThat(stalledWorker.getDropped()).isGreaterThan(0);
+        assertThat(worker(vivid, "FAST").getDropped()).isZero();
+
+        release.countDown();
+        vivid.stop();
+        assertThat(stalled.messages).hasSize((int) (100 - stalledWorker.getDropped()));
+        assertThat(stalled.messages.get(0)).contains("event 0");
+    }
+
+    @Test
+    void testDropOldestKeepsNewestEvents() throws Exception {
+        RecordingAppender stalled = sink("STALLED", release);
+        Vivid4jLogAppender vivid = vivid(stalled, null, "STALLED=DROP_OLDEST:8");
+        Logger logger = logger(vivid);
+
+        for (int i = 0; i < 50; i++) {
+            logger.warn("event {}", i);
+        }
+        release.countDown();
+        vivid.stop();
+
+        assertThat(stalled.messages.get(stalled.messages.size() - 1)).contains("event 49");
+        assertThat(stalled.messages.size()).isLessThan(50);
+    }
+
+    @Test
+    void testEventsAreDecoratedOnceAndShared() throws Exception {
+        RecordingAppender first = sink("FIRST", null);
+        RecordingAppender second = sink("SECOND", null);
+        Vivid4jLogAppender vivid = vivid(first, second, null);
+        vivid.setColorEnabled(false);
+        Logger logger = logger(vivid);
+
+        logger.error("shared");
+        vivid.stop();
+
+        assertThat(first.events).hasSize(1);
+        assertThat(second.events).hasSize(1);
+        assertThat(first.events.get(0)).isSameAs(second.events.get(0));
+        assertThat(first.messages.get(0)).endsWith("shared").doesNotContain("\u001B[");
+    }
+
+    @Test
+    void testStopTimeoutDiscardsQueueBeforeStoppingSinks() throws Exception {
+        RecordingAppender stalled = sink("STALLED", release);
+        Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+        vivid.setContext(context);
+        vivid.setFanOut(true);
+        vivid.setMaxFlushTime(100);
+        vivid.addAppender(stalled);
+        vivid.start();
+        Logger logger = logger(vivid);
+
+        for (int i = 0; i < 10; i++) {
+            logger.warn("event {}", i);
+        }
+        awaitTrue(() -> worker(vivid, "STALLED").getQueueDepth() == 9);
+        vivid.stop();
+        Thread.sleep(200);
+
+        // the event in flight when interrupted is finished, the queued ones are not delivered later
+        assertThat(stalled.messages).hasSize(1);
+        assertThat(stalled.isStarted()).isFalse();
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+                .anyMatch(status -> status.getMessage().contains("9 events discarded"))
+                .noneMatch(status -> status.getMessage().contains("non started appender"));
+    }
+
+    @Test
+    void testCallerDataIsResolvedOnLoggingThread() throws Exception {
+        RecordingAppender walked = sink("WALKED", null);
+        Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+        vivid.setContext(context);
+        vivid.setFanOut(true);
+        vivid.setStackWalkerCallerData(true);
+        vivid.addAppender(walked);
+        vivid.start();
+        RecordingAppender unresolved = sink("UNRESOLVED", null);
+        Vivid4jLogAppender plain = vivid(unresolved, null, null);
+        Logger logger = logger(vivid);
+        logger.addAppender(plain);
+
+        logger.warn("where");
+        vivid.stop();
+        plain.stop();
+
+        assertThat(walked.callers).hasSize(1);
+        assertThat(walked.callers.get(0)).isNotEmpty();
+        assertThat(walked.callers.get(0)[0].getClassName()).isEqualTo(Vivid4jLogAppenderFanOutTest.class.getName());
+        // nothing asked for caller data on the logging thread, and the worker's stack is not the caller's
+        assertThat(unresolved.callers.get(0)).isEmpty();
+    }
+
+    private Vivid4jLogAppender vivid(RecordingAppender first, RecordingAppender second, String sinkEntry) {
+        Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+        vivid.setContext(context);
+        vivid.setFanOut(true);
+        vivid.setQueueSize(256);
+        if (sinkEntry != null) {
+            vivid.addSink(sinkEntry);
+        }
+        vivid.addAppender(first);
+        if (second != null) {
+            vivid.addAppender(second);
+        }
+        vivid.start();
+        return vivid;
+    }
+
+    private RecordingAppender sink(String name, CountDownLatch gate) {
+        RecordingAppender sink = new RecordingAppender(gate);
+        sink.setName(name);
+        sink.setContext(context);
+        sink.start();
+        return sink;
+    }
+
+    private Logger logger(Vivid4jLogAppender vivid) {
+        Logger logger = context.getLogger("fanout.test");
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(vivid);
+        return logger;
+    }
+
+    private static SinkWorker worker(Vivid4jLogAppender vivid, String name) {
+        return vivid.getSinkWorkers().stream()
+                .filter(worker -> worker.getAppender().getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static class RecordingAppender extends AppenderBase<ILoggingEvent> {
+        final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final List<StackTraceElement[]> callers = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+
+        RecordingAppender(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(event);
+            messages.add(event.getFormattedMessage());
+            callers.add(event.getCallerData());
+        }
+    }
+}
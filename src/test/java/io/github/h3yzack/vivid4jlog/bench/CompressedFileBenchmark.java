@@ -0,0 +1,158 @@
+package io.github.h3yzack.vivid4jlog.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy;
+import ch.qos.logback.core.util.FileSize;
+import io.github.h3yzack.vivid4jlog.appender.CompressedFileAppender;
+import io.github.h3yzack.vivid4jlog.appender.Vivid4jLogAppender;
+
+/**
+ * Compares bytes on disk and process CPU time of {@link CompressedFileAppender} against
+ * the plain {@link RollingFileAppender} setup, both behind a {@link Vivid4jLogAppender}.
+ * The level mix is mostly DEBUG and INFO with 4% WARN and 1% ERROR. In the rolling-gz scenario
+ * the active segment is only compressed on the next roll, so it is gzipped after the run and
+ * that time is counted too. Run with {@code mvn -Pbench -DskipTests test}.
+ */
+public class CompressedFileBenchmark {
+
+    private static final int EVENTS = Integer.getInteger("bench.events", 500_000);
+    private static final Path OUT_DIR = Path.of(System.getProperty("bench.dir", "target/bench/compressed"));
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%-16s %14s %12s %10s%n", "scenario", "bytes", "cpu ms", "ratio");
+        long baseline = run("rolling-plain", (dir, ctx) -> rolling(dir, ctx, ".log"), false, 0);
+        run("rolling-gz", (dir, ctx) -> rolling(dir, ctx, ".log.gz"), true, baseline);
+        run("compressed-1", (dir, ctx) -> compressed(dir, ctx, 1), false, baseline);
+        run("compressed-6", (dir, ctx) -> compressed(dir, ctx, 6), false, baseline);
+        run("compressed-9", (dir, ctx) -> compressed(dir, ctx, 9), false, baseline);
+    }
+
+    private interface SinkFactory {
+        OutputStreamAppender<ILoggingEvent> create(Path dir, LoggerContext context);
+    }
+
+    private static long run(String scenario, SinkFactory factory, boolean gzipActive, long baseline)
+            throws IOException {
+        Path dir = OUT_DIR.resolve(scenario);
+        deleteRecursively(dir);
+        Files.createDirectories(dir);
+
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        OutputStreamAppender<ILoggingEvent> sink = factory.create(dir, context);
+        sink.setEncoder(encoder(context));
+        sink.start();
+
+        Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+        vivid.setContext(context);
+        vivid.setColorEnabled(false);
+        vivid.addAppender(sink);
+        vivid.start();
+
+        Logger logger = context.getLogger("bench.Orders");
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(vivid);
+
+        long cpuStart = processCpuNanos();
+        for (int i = 0; i < EVENTS; i++) {
+            int slot = i % 100;
+            if (slot == 0) {
+                logger.error("Shipment {} failed: carrier timeout", i);
+            } else if (slot < 5) {
+                logger.warn("Inventory low for sku {} ({} left)", i % 311, i % 7);
+            } else if (slot < 25) {
+                logger.info("Order {} accepted for customer {}", i, i % 977);
+            } else if (slot < 40) {
+                logger.info("Payment authorized for order {}", i);
+            } else {
+                logger.debug("Cache lookup for key order:{} took {} us", i, i % 53);
+            }
+        }
+        context.stop();
+        if (gzipActive) {
+            gzip(dir.resolve("app.log"), dir.resolve("app.active.log.gz"));
+        }
+        long cpuMillis = (processCpuNanos() - cpuStart) / 1_000_000;
+
+        long bytes = directorySize(dir);
+        String ratio = baseline == 0 ? "1.00" : String.format("%.2f", (double) bytes / baseline);
+        System.out.printf("%-16s %14d %12d %10s%n", scenario, bytes, cpuMillis, ratio);
+        return bytes;
+    }
+
+    private static OutputStreamAppender<ILoggingEvent> rolling(Path dir, LoggerContext context, String suffix) {
+        RollingFileAppender<ILoggingEvent> appender = new RollingFileAppender<>();
+        appender.setContext(context);
+        appender.setFile(dir.resolve("app.log").toString());
+        SizeAndTimeBasedRollingPolicy<ILoggingEvent> policy = new SizeAndTimeBasedRollingPolicy<>();
+        policy.setFileNamePattern(dir.resolve("app.%d{yyyy-MM-dd}.%i" + suffix).toString());
+        policy.setMaxFileSize(FileSize.valueOf("10MB"));
+        policy.setContext(context);
+        policy.setParent(appender);
+        policy.start();
+        appender.setRollingPolicy(policy);
+        return appender;
+    }
+
+    private static OutputStreamAppender<ILoggingEvent> compressed(Path dir, LoggerContext context, int level) {
+        CompressedFileAppender appender = new CompressedFileAppender();
+        appender.setContext(context);
+        appender.setFile(dir.resolve("app.log.gz").toString());
+        appender.setCompressionLevel(level);
+        appender.setMaxSegmentSize(FileSize.valueOf("10MB"));
+        return appender;
+    }
+
+    private static PatternLayoutEncoder encoder(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %-5level %logger{36} - %msg%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    private static void gzip(Path source, Path target) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+            Files.copy(source, out);
+        }
+        Files.delete(source);
+    }
+
+    private static long directorySize(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package io.github.h3yzack.vivid4jlog.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import io.github.h3yzack.vivid4jlog.Vivid4jLogger;
+import io.github.h3yzack.vivid4jlog.appender.Vivid4jLogAppender;
+import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+
+/**
+ * Soak and latency harness for complete logging pipelines.
+ * Drives several threads through {@link Vivid4jLogger} and {@link Vivid4jLogAppender}
+ * setups writing to real files and {@code /dev/null}, and reports throughput, call latency
+ * percentiles and GC activity per scenario. Results are also written as JSON so runs of
+ * different releases can be compared.
+ * <p>
+ * Run with {@code mvn -Pload -DskipTests test}. Tunables (system properties):
+ * {@code bench.threads}, {@code bench.events} (per thread), {@code bench.warmup} (per thread),
+ * {@code bench.virtual}, {@code bench.themes}, {@code bench.dir}.
+ */
+public class LoadHarness {
+
+    private static final int THREADS = Integer.getInteger("bench.threads", 4);
+    private static final int EVENTS = Integer.getInteger("bench.events", 50_000);
+    private static final int WARMUP = Integer.getInteger("bench.warmup", 10_000);
+    private static final boolean VIRTUAL = Boolean.getBoolean("bench.virtual");
+    private static final String THEMES = System.getProperty("bench.themes", "CLASSIC,COLORFUL");
+    private static final Path OUT_DIR = Path.of(System.getProperty("bench.dir", "target/bench/load"));
+    private static final File DEV_NULL = new File("/dev/null");
+
+    /** How the decorated message is produced. */
+    enum Mode {
+        /** Vivid4jLogger decorates, a plain file appender writes. */
+        LOGGER,
+        /** Plain logger, Vivid4jLogAppender decorates and calls the file appender inline. */
+        APPENDER,
+        /** Plain logger, Vivid4jLogAppender decorates and hands off to a per-sink worker. */
+        FAN_OUT
+    }
+
+    public static void main(String[] args) throws Exception {
+        Files.createDirectories(OUT_DIR);
+        List<Result> results = new ArrayList<>();
+        boolean virtual = VIRTUAL && newVirtualThread(() -> { }) != null;
+        if (VIRTUAL && !virtual) {
+            System.out.println("Virtual threads are not available on this runtime; using platform threads");
+        }
+
+        System.out.printf("%-40s %12s %10s %10s %10s %6s %8s%n",
+                "scenario", "events/s", "p50 ns", "p99 ns", "p99.9 ns", "gc", "gc ms");
+        for (Mode mode : Mode.values()) {
+            for (String target : new String[] {"file", "devnull"}) {
+                if (target.equals("devnull") && !DEV_NULL.exists()) {
+                    continue;
+                }
+                for (String themeName : THEMES.split(",")) {
+                    for (boolean color : new boolean[] {true, false}) {
+                        EmojiTheme theme = EmojiTheme.fromString(themeName.trim());
+                        Result result = run(mode, target, theme, color, virtual);
+                        results.add(result);
+                        System.out.printf("%-40s %12.0f %10d %10d %10d %6d %8d%n", result.name,
+                                result.eventsPerSecond, result.p50, result.p99, result.p999,
+                                result.gcCount, result.gcMillis);
+                    }
+                }
+            }
+        }
+
+        Path resultsFile = OUT_DIR.resolve("results-" + System.currentTimeMillis() + ".json");
+        Files.writeString(resultsFile, toJson(results, virtual), StandardCharsets.UTF_8);
+        System.out.println("Results written to " + resultsFile);
+    }
+
+    private static Result run(Mode mode, String target, EmojiTheme theme, boolean color, boolean virtual)
+            throws Exception {
+        String name = String.format(Locale.ROOT, "%s/%s/%s/%s", mode.name().toLowerCase(Locale.ROOT), target,
+                theme.name().toLowerCase(Locale.ROOT), color ? "color" : "plain");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger backing = context.getLogger(LoadHarness.class);
+        backing.detachAndStopAllAppenders();
+        backing.setAdditive(false);
+        backing.setLevel(Level.DEBUG);
+
+        String file = target.equals("devnull")
+                ? DEV_NULL.getPath()
+                : OUT_DIR.resolve(name.replace('/', '-') + ".log").toString();
+        if (!target.equals("devnull")) {
+            Files.deleteIfExists(Path.of(file));
+        }
+        FileAppender<ILoggingEvent> sink = new FileAppender<>();
+        sink.setContext(context);
+        sink.setName("FILE");
+        sink.setFile(file);
+        sink.setEncoder(encoder(context));
+        sink.start();
+
+        Workload workload;
+        if (mode == Mode.LOGGER) {
+            backing.addAppender(sink);
+            Vivid4jLogger vivid = Vivid4jLogger.create(LoadHarness.class, theme);
+            vivid.getConfig().setColorEnabled(color);
+            workload = i -> {
+                switch (i % 4) {
+                    case 0 -> vivid.info("Order {} accepted for customer {}", i, i % 977);
+                    case 1 -> vivid.debug("Cache lookup for key order:{} took {} us", i, i % 53);
+                    case 2 -> vivid.warn("Inventory low for sku {} ({} left)", i % 311, i % 7);
+                    default -> vivid.success("Payment authorized for order {}", i);
+                }
+            };
+        } else {
+            Vivid4jLogAppender wrapper = new Vivid4jLogAppender();
+            wrapper.setContext(context);
+            wrapper.setTheme(theme.name());
+            wrapper.setColorEnabled(color);
+            wrapper.setFanOut(mode == Mode.FAN_OUT);
+            wrapper.addAppender(sink);
+            wrapper.start();
+            backing.addAppender(wrapper);
+            workload = i -> {
+                switch (i % 4) {
+                    case 0 -> backing.info("Order {} accepted for customer {}", i, i % 977);
+                    case 1 -> backing.debug("Cache lookup for key order:{} took {} us", i, i % 53);
+                    case 2 -> backing.warn("Inventory low for sku {} ({} left)", i % 311, i % 7);
+                    default -> backing.error("Shipment {} failed: carrier timeout", i);
+                }
+            };
+        }
+
+        long[] gcBefore = gcTotals();
+        LatencyHistogram[] histograms = new LatencyHistogram[THREADS];
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histograms[t] = histogram;
+            Runnable task = () -> {
+                try {
+                    for (int i = 0; i < WARMUP; i++) {
+                        workload.log(i);
+                    }
+                    start.await();
+                    for (int i = 0; i < EVENTS; i++) {
+                        long begin = System.nanoTime();
+                        workload.log(i);
+                        histogram.record(System.nanoTime() - begin);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            };
+            Thread thread = virtual ? newVirtualThread(task) : new Thread(task, "load-" + t);
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        // stopping drains fan-out queues, so throughput includes delivery to the sink
+        backing.detachAndStopAllAppenders();
+        long elapsed = System.nanoTime() - begin;
+        long[] gcAfter = gcTotals();
+
+        LatencyHistogram total = new LatencyHistogram();
+        for (LatencyHistogram histogram : histograms) {
+            total.add(histogram);
+        }
+        Result result = new Result();
+        result.name = name;
+        result.mode = mode;
+        result.target = target;
+        result.theme = theme;
+        result.color = color;
+        result.events = (long) THREADS * EVENTS;
+        result.eventsPerSecond = result.events * 1e9 / elapsed;
+        result.p50 = total.percentile(50);
+        result.p99 = total.percentile(99);
+        result.p999 = total.percentile(99.9);
+        result.max = total.max();
+        result.gcCount = gcAfter[0] - gcBefore[0];
+        result.gcMillis = gcAfter[1] - gcBefore[1];
+        return result;
+    }
+
+    private interface Workload {
+        void log(int i);
+    }
+
+    private static PatternLayoutEncoder encoder(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] {count, millis};
+    }
+
+    private static Thread newVirtualThread(Runnable task) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (Thread) builderType.getMethod("unstarted", Runnable.class).invoke(builder, task);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String toJson(List<Result> results, boolean virtual) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"version\": \"").append(System.getProperty("bench.version", "dev")).append("\",\n");
+        json.append("  \"timestamp\": \"").append(Instant.now()).append("\",\n");
+        json.append("  \"java\": \"").append(System.getProperty("java.version")).append("\",\n");
+        json.append("  \"threads\": ").append(THREADS).append(",\n");
+        json.append("  \"virtualThreads\": ").append(virtual).append(",\n");
+        json.append("  \"eventsPerThread\": ").append(EVENTS).append(",\n");
+        json.append("  \"scenarios\": [\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            json.append(String.format(Locale.ROOT,
+                    "    {\"name\": \"%s\", \"mode\": \"%s\", \"target\": \"%s\", \"theme\": \"%s\", \"color\": %b, "
+                            + "\"events\": %d, \"eventsPerSecond\": %.1f, \"p50Nanos\": %d, \"p99Nanos\": %d, "
+                            + "\"p999Nanos\": %d, \"maxNanos\": %d, \"gcCount\": %d, \"gcMillis\": %d}",
+                    r.name, r.mode, r.target, r.theme, r.color, r.events, r.eventsPerSecond,
+                    r.p50, r.p99, r.p999, r.max, r.gcCount, r.gcMillis));
+            json.append(i < results.size() - 1 ? ",\n" : "\n");
+        }
+        json.append("  ]\n}\n");
+        return json.toString();
+    }
+
+    private static final class Result {
+        String name;
+        Mode mode;
+        String target;
+        EmojiTheme theme;
+        boolean color;
+        long events;
+        double eventsPerSecond;
+        long p50;
+        long p99;
+        long p999;
+        long max;
+        long gcCount;
+        long gcMillis;
+    }
+
+    /**
+     * Log-linear latency histogram with 16 sub-buckets per power of two (about 6% precision).
+     * Each thread records into its own instance; they are merged after the run.
+     */
+    static final class LatencyHistogram {
+        private static final int SUB_BITS = 4;
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+
+        private final long[] counts = new long[64 * SUB_COUNT];
+        private long total;
+        private long max;
+
+        void record(long nanos) {
+            long value = Math.max(0, nanos);
+            counts[indexOf(value)]++;
+            total++;
+            if (value > max) {
+                max = value;
+            }
+        }
+
+        void add(LatencyHistogram other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            total += other.total;
+            max = Math.max(max, other.max);
+        }
+
+        long percentile(double percentile) {
+            long rank = (long) Math.ceil(percentile / 100.0 * total);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        long max() {
+            return max;
+        }
+
+        private static int indexOf(long value) {
+            if (value < 2 * SUB_COUNT) {
+                return (int) value;
+            }
+            int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+            return (shift + 1) * SUB_COUNT + (int) ((value >>> shift) - SUB_COUNT);
+        }
+
+        private static long upperBound(int index) {
+            if (index < 2 * SUB_COUNT) {
+                return index;
+            }
+            int shift = index / SUB_COUNT - 1;
+            long sub = index % SUB_COUNT + SUB_COUNT;
+            return ((sub + 1) << shift) - 1;
+        }
+    }
+}
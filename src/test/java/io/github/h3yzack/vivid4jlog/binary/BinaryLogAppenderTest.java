@@ -0,0 +1,244 @@
+package io.github.h3yzack.vivid4jlog.binary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import io.github.h3yzack.vivid4jlog.Vivid4jLogger;
+import io.github.h3yzack.vivid4jlog.appender.Vivid4jLogAppender;
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+import io.github.h3yzack.vivid4jlog.theme.AnsiColors;
+import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinaryLogAppenderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LoggerContext context;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        file = tempDir.resolve("app.v4jb");
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void testRecordsRoundTripWithTypedArguments() throws IOException {
+        BinaryLogAppender appender = start();
+        Logger logger = logger(appender);
+
+        logger.info("Order {} total {} paid {}", 42, 19.5, true);
+        logger.info(VividLevel.SUCCESS.getMarker(), "Shipped to {}", "Berlin");
+        logger.error("Failed", new IllegalStateException("boom"));
+        logger.debug("Bytes {} flags {}", new byte[] {1, 2}, new boolean[] {true});
+        appender.stop();
+
+        List<BinaryLogRecord> records = readAll();
+        assertThat(records).hasSize(4);
+
+        BinaryLogRecord order = records.get(0);
+        assertThat(order.getLevel()).isEqualTo(VividLevel.INFO);
+        assertThat(order.getTemplate()).isEqualTo("Order {} total {} paid {}");
+        assertThat(order.getArguments()).containsExactly(42L, 19.5, true);
+        assertThat(order.getFormattedMessage()).isEqualTo("Order 42 total 19.5 paid true");
+        assertThat(order.getLoggerName()).isEqualTo("binary.test");
+        assertThat(order.getThreadName()).isEqualTo(Thread.currentThread().getName());
+
+        assertThat(records.get(1).getLevel()).isEqualTo(VividLevel.SUCCESS);
+        assertThat(records.get(2).getThrowable()).contains("IllegalStateException: boom");
+        assertThat(records.get(2).getTimestamp()).isGreaterThanOrEqualTo(order.getTimestamp());
+        assertThat(records.get(3).getFormattedMessage()).isEqualTo("Bytes [1, 2] flags [true]");
+    }
+
+    @Test
+    void testTemplatesAreWrittenOncePerFile() throws IOException {
+        BinaryLogAppender appender = start();
+        Logger logger = logger(appender);
+        String template = "Cache lookup for key order:{} took {} us";
+
+        for (int i = 0; i < 1000; i++) {
+            logger.info(template, i, i % 53);
+        }
+        appender.stop();
+
+        byte[] bytes = Files.readAllBytes(file);
+        assertThat(occurrences(bytes, template)).isEqualTo(1);
+        assertThat(bytes.length).isLessThan(1000 * template.length() / 2);
+        assertThat(readAll()).hasSize(1000);
+    }
+
+    @Test
+    void testAppendStartsNewSessionAndFullDictionaryWritesInline() throws IOException {
+        BinaryLogAppender first = start();
+        logger(first).info("first session");
+        first.stop();
+        context.getLogger("binary.test").detachAndStopAllAppenders();
+
+        BinaryLogAppender second = new BinaryLogAppender();
+        second.setContext(context);
+        second.setFile(file.toString());
+        second.setMaxDictionarySize(2);
+        second.start();
+        Logger logger = logger(second);
+        logger.info("second session {}", 1);
+        logger.info("second session {}", 2);
+        second.stop();
+
+        List<BinaryLogRecord> records = readAll();
+        assertThat(records).extracting(BinaryLogRecord::getFormattedMessage)
+                .containsExactly("first session", "second session 1", "second session 2");
+    }
+
+    @Test
+    void testMessagesWithoutArgumentsDoNotFillDictionary() throws IOException {
+        BinaryLogAppender appender = new BinaryLogAppender();
+        appender.setContext(context);
+        appender.setFile(file.toString());
+        // logger, thread and one template
+        appender.setMaxDictionarySize(3);
+        appender.start();
+        Logger logger = logger(appender);
+        String template = "Request {} served in {} ms";
+
+        for (int i = 0; i < 100; i++) {
+            logger.info("Prebuilt message number " + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            logger.info(template, i, i % 7);
+        }
+        appender.stop();
+
+        assertThat(occurrences(Files.readAllBytes(file), template)).isEqualTo(1);
+        List<BinaryLogRecord> records = readAll();
+        assertThat(records).hasSize(200);
+        assertThat(records.get(42).getFormattedMessage()).isEqualTo("Prebuilt message number 42");
+        assertThat(records.get(142).getFormattedMessage()).isEqualTo("Request 42 served in 0 ms");
+    }
+
+    @Test
+    void testRendererAppliesThemeAtReadTime() throws IOException {
+        BinaryLogAppender binary = new BinaryLogAppender();
+        binary.setContext(context);
+        binary.setName("BIN");
+        binary.setFile(file.toString());
+        binary.start();
+        Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+        vivid.setContext(context);
+        vivid.setTheme("TECH");
+        vivid.addAppender(binary);
+        vivid.start();
+        Logger logger = logger(vivid);
+
+        logger.warn("Disk at {}%", 91);
+        vivid.stop();
+
+        List<BinaryLogRecord> records = readAll();
+        // decoration happens at read time only
+        assertThat(records.get(0).getTemplate()).isEqualTo("Disk at {}%");
+
+        String plain = new BinaryLogRenderer(EmojiTheme.NATURE, false).render(records.get(0));
+        assertThat(plain).endsWith("WARN  binary.test - " + EmojiTheme.NATURE.getEmojiMap().get("WARN") + "Disk at 91%");
+
+        String colored = new BinaryLogRenderer(EmojiTheme.GAMING, true).render(records.get(0));
+        assertThat(colored).contains(EmojiTheme.GAMING.getEmojiMap().get("WARN")).endsWith(AnsiColors.RESET);
+    }
+
+    @Test
+    void testVivid4jLoggerEventsAreStoredUndecorated() throws IOException {
+        Vivid4jLogger vivid4jLogger = Vivid4jLogger.create(BinaryLogAppenderTest.class).withTheme(EmojiTheme.TECH);
+        Logger backing = (Logger) vivid4jLogger.unwrap();
+        BinaryLogAppender appender = new BinaryLogAppender();
+        appender.setContext(backing.getLoggerContext());
+        appender.setFile(file.toString());
+        appender.start();
+        backing.setLevel(Level.DEBUG);
+        backing.setAdditive(false);
+        backing.addAppender(appender);
+        try {
+            vivid4jLogger.warn("Disk at {}%", 91);
+            vivid4jLogger.success("Deployed");
+            vivid4jLogger.with("job", 7).info("Job {} started", "nightly");
+        } finally {
+            backing.detachAppender(appender);
+            backing.setAdditive(true);
+            backing.setLevel(null);
+            appender.stop();
+        }
+
+        List<BinaryLogRecord> records = readAll();
+        assertThat(records).extracting(BinaryLogRecord::getTemplate)
+                .containsExactly("Disk at {}%", "Deployed", "[job=7] Job {} started");
+        assertThat(records.get(1).getLevel()).isEqualTo(VividLevel.SUCCESS);
+
+        BinaryLogRenderer renderer = new BinaryLogRenderer(EmojiTheme.NATURE, false);
+        assertThat(renderer.render(records.get(0)))
+                .endsWith("WARN  " + BinaryLogAppenderTest.class.getName() + " - " + EmojiTheme.NATURE.getEmojiMap().get("WARN") + "Disk at 91%")
+                .doesNotContain(EmojiTheme.TECH.getEmojiMap().get("WARN"))
+                .doesNotContain("\u001B[");
+        assertThat(renderer.render(records.get(2)))
+                .endsWith(EmojiTheme.NATURE.getEmojiMap().get("INFO") + "[job=7] Job nightly started");
+    }
+
+    private BinaryLogAppender start() {
+        BinaryLogAppender appender = new BinaryLogAppender();
+        appender.setContext(context);
+        appender.setFile(file.toString());
+        appender.start();
+        return appender;
+    }
+
+    private Logger logger(ch.qos.logback.core.Appender<ch.qos.logback.classic.spi.ILoggingEvent> appender) {
+        Logger logger = context.getLogger("binary.test");
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private List<BinaryLogRecord> readAll() throws IOException {
+        List<BinaryLogRecord> records = new ArrayList<>();
+        try (BinaryLogReader reader = BinaryLogReader.open(file)) {
+            BinaryLogRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private static int occurrences(byte[] bytes, String text) {
+        byte[] needle = text.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        int count = 0;
+        outer:
+        for (int i = 0; i <= bytes.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (bytes[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            count++;
+        }
+        return count;
+    }
+}
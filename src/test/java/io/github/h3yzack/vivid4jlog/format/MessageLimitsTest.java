@@ -0,0 +1,86 @@
+package io.github.h3yzack.vivid4jlog.format;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessageLimitsTest {
+
+    @Test
+    void testSubstitutesLikeSlf4j() {
+        MessageLimits limits = MessageLimits.of(1000, 1000, false);
+
+        assertThat(format(limits, "a {} b {} c {}", 1, "two")).isEqualTo("a 1 b two c {}");
+        assertThat(format(limits, "escaped \\{} then {}", "x")).isEqualTo("escaped {} then x");
+        assertThat(format(limits, "path C:\\\\{}", "dir")).isEqualTo("path C:\\dir");
+        assertThat(format(limits, "arrays {} {}", new int[] {1, 2}, new Object[] {"a", null})).isEqualTo("arrays [1, 2] [a, null]");
+        assertThat(format(limits, "literal {}", (Object[]) null)).isEqualTo("literal {}");
+    }
+
+    @Test
+    void testLargeArgumentIsCutWithMarker() {
+        MessageLimits limits = MessageLimits.of(0, 10, false);
+        StringBuilder payload = new StringBuilder("0123456789".repeat(100_000));
+
+        assertThat(format(limits, "body={} end", payload)).isEqualTo("body=0123456789\u2026(+999990 chars) end");
+    }
+
+    @Test
+    void testCutOffRestIsNeverScanned() {
+        CharSequence payload = new CharSequence() {
+            @Override
+            public int length() {
+                return 50_000_000;
+            }
+
+            @Override
+            public char charAt(int index) {
+                assertThat(index).isLessThan(16);
+                return 'x';
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return "x".repeat(end - start);
+            }
+        };
+
+        assertThat(format(MessageLimits.of(0, 8, false), "{} {}", payload, payload))
+                .isEqualTo("xxxxxxxx\u2026(+49999992 chars) xxxxxxxx\u2026(+49999992 chars)");
+        assertThat(format(MessageLimits.of(12, 0, false), "{} {}", payload, payload))
+                .isEqualTo("xxxxxxxxxxxx\u2026(+99999989 chars)");
+    }
+
+    @Test
+    void testMessageLimitCountsUtf8BytesAndNeverSplitsCharacters() {
+        MessageLimits limits = MessageLimits.of(8, 0, false);
+
+        // an accented e is two bytes, so only three fit into the remaining seven bytes
+        assertThat(format(limits, "x{}", "\u00e9\u00e9\u00e9\u00e9\u00e9")).isEqualTo("x\u00e9\u00e9\u00e9\u2026(+2 chars)");
+        assertThat(format(limits, "\ud83d\ude00\ud83d\ude00\ud83d\ude00", (Object[]) null)).isEqualTo("\ud83d\ude00\ud83d\ude00\u2026(+2 chars)");
+        assertThat(format(limits, "short {}", "ok")).isEqualTo("short ok");
+    }
+
+    @Test
+    void testChunkedModeSplitsInsteadOfTruncating() {
+        MessageLimits limits = MessageLimits.of(4, 0, true);
+
+        List<String> chunks = limits.chunk("{}-{}", new Object[] {"abcde", "fgh"});
+
+        assertThat(chunks).containsExactly("abcd", "e-fg", "h");
+        assertThat(String.join("", chunks)).isEqualTo("abcde-fgh");
+    }
+
+    @Test
+    void testNoLimitsIsDisabled() {
+        assertThat(MessageLimits.of(0, 0, true)).isSameAs(MessageLimits.NONE);
+        assertThat(MessageLimits.NONE.isEnabled()).isFalse();
+        assertThat(MessageLimits.of(0, 5, true).isChunked()).isFalse();
+    }
+
+    private static String format(MessageLimits limits, String template, Object... arguments) {
+        return limits.appendTo(new StringBuilder(), template, arguments).toString();
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.h3yzack.vivid4jlog.format;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TemplateCacheTest {
+
+    private final MessageFormatter classic = MessageFormatter.of(EmojiTheme.CLASSIC, true, "", "");
+
+    @Test
+    void testRepeatedTemplateIsServedFromCache() {
+        TemplateCache cache = new TemplateCache(64, true);
+        String template = "User {} logged in";
+
+        String first = cache.decorate(classic, VividLevel.INFO, template);
+        String second = cache.decorate(classic, VividLevel.INFO, template);
+
+        assertThat(second).isSameAs(first).isEqualTo(classic.format(VividLevel.INFO, template));
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void testLevelAndSnapshotArePartOfTheKey() {
+        TemplateCache cache = new TemplateCache(64, true);
+        String template = "Order {} shipped";
+        MessageFormatter nature = classic.withTheme(EmojiTheme.NATURE);
+
+        cache.decorate(classic, VividLevel.INFO, template);
+        String warn = cache.decorate(classic, VividLevel.WARN, template);
+        String themed = cache.decorate(nature, VividLevel.INFO, template);
+
+        assertThat(warn).isEqualTo(classic.format(VividLevel.WARN, template));
+        assertThat(themed).isEqualTo(nature.format(VividLevel.INFO, template));
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    void testUniqueMessagesDoNotGrowTheCache() {
+        TemplateCache cache = new TemplateCache(100, true);
+        assertThat(cache.capacity()).isEqualTo(128);
+
+        for (int i = 0; i < 10_000; i++) {
+            String message = "request " + i;
+            assertThat(cache.decorate(classic, VividLevel.DEBUG, message))
+                    .isEqualTo(classic.format(VividLevel.DEBUG, message));
+        }
+        assertThat(cache.capacity()).isEqualTo(128);
+        assertThat(cache.getMisses()).isEqualTo(10_000);
+    }
+
+    @Test
+    void testLongTemplatesAreNotCached() {
+        TemplateCache cache = new TemplateCache(64, true);
+        String template = "x".repeat(TemplateCache.MAX_TEMPLATE_LENGTH + 1) + " {}";
+
+        String decorated = cache.decorate(classic, VividLevel.INFO, template);
+
+        assertThat(decorated).isEqualTo(classic.format(VividLevel.INFO, template));
+        assertThat(cache.decorate(classic, VividLevel.INFO, template)).isNotSameAs(decorated);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testDisabledCacheDecoratesEveryCall() {
+        TemplateCache cache = new TemplateCache(64, false);
+        String template = "Cache off";
+
+        String decorated = cache.decorate(classic, VividLevel.ERROR, template);
+
+        assertThat(decorated).isEqualTo(classic.format(VividLevel.ERROR, template));
+        assertThat(cache.getHits()).isZero();
+        assertThat(cache.getMisses()).isZero();
+    }
+}
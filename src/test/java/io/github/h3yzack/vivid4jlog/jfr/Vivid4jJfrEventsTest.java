@@ -0,0 +1,158 @@
+package io.github.h3yzack.vivid4jlog.jfr;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.h3yzack.vivid4jlog.Vivid4jLogger;
+import io.github.h3yzack.vivid4jlog.appender.Vivid4jLogAppender;
+import io.github.h3yzack.vivid4jlog.format.MessageFormatter;
+import io.github.h3yzack.vivid4jlog.level.VividLevel;
+import io.github.h3yzack.vivid4jlog.theme.EmojiTheme;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Vivid4jJfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LoggerContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void testFormatEvent() throws Exception {
+        MessageFormatter formatter = MessageFormatter.of(EmojiTheme.NATURE, false, "", "");
+
+        List<RecordedEvent> events = record(true, () -> formatter.format("WARN", "recorded message"));
+
+        RecordedEvent event = only(events, FormatEvent.NAME);
+        assertThat(event.getString("level")).isEqualTo("WARN");
+        assertThat(event.getString("theme")).isEqualTo("NATURE");
+        assertThat(event.getInt("messageLength")).isEqualTo(16);
+    }
+
+    @Test
+    void testLogCallEventSplitsFormatAndAppendTime() throws Exception {
+        Vivid4jLogger logger = Vivid4jLogger.create(Vivid4jJfrEventsTest.class, EmojiTheme.TECH);
+
+        List<RecordedEvent> events = record(true, () -> logger.error("failed {} times", 3));
+
+        RecordedEvent event = only(events, LogCallEvent.NAME);
+        assertThat(event.getString("loggerName")).isEqualTo(Vivid4jJfrEventsTest.class.getName());
+        assertThat(event.getString("level")).isEqualTo("ERROR");
+        assertThat(event.getString("theme")).isEqualTo("TECH");
+        assertThat(event.getInt("messageLength")).isEqualTo("failed {} times".length());
+        assertThat(event.getLong("formatTime")).isPositive();
+        assertThat(event.getLong("appendTime")).isPositive();
+        assertThat(event.getLong("formatTime") + event.getLong("appendTime"))
+                .isLessThanOrEqualTo(event.getDuration().toNanos() + 1_000_000);
+    }
+
+    @Test
+    void testAppendEvent() throws Exception {
+        ListAppender<ILoggingEvent> sink = new ListAppender<>();
+        sink.setContext(context);
+        sink.start();
+        Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+        vivid.setContext(context);
+        vivid.setTheme("gaming");
+        vivid.addAppender(sink);
+        vivid.start();
+        Logger logger = context.getLogger("jfr.test.append");
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(vivid);
+
+        List<RecordedEvent> events = record(true, () -> logger.info("appended"));
+
+        RecordedEvent event = only(events, AppendEvent.NAME);
+        assertThat(event.getString("loggerName")).isEqualTo("jfr.test.append");
+        assertThat(event.getString("level")).isEqualTo("INFO");
+        assertThat(event.getString("theme")).isEqualTo("GAMING");
+        assertThat(event.getString("degradation")).isEqualTo("FULL");
+        assertThat(event.getInt("messageLength")).isEqualTo(8);
+        assertThat(sink.list).hasSize(1);
+    }
+
+    @Test
+    void testNothingRecordedUnlessEnabled() throws Exception {
+        Vivid4jLogger logger = Vivid4jLogger.create(Vivid4jJfrEventsTest.class);
+
+        List<RecordedEvent> events = record(false, () -> logger.info("not recorded"));
+
+        assertThat(events).noneMatch(event -> Vivid4jJfr.EVENT_NAMES.contains(event.getEventType().getName()));
+    }
+
+    @Test
+    void testEventsAreRealWhenJfrIsPresent() {
+        assertThat(JfrEvents.isAvailable()).isTrue();
+        assertThat(JfrEvents.logCall()).isInstanceOf(LogCallEvent.class);
+        assertThat(JfrEvents.append()).isInstanceOf(AppendEvent.class);
+        assertThat(JfrEvents.format()).isInstanceOf(FormatEvent.class);
+    }
+
+    @Test
+    void testNoOpEventsAcceptTheFullLifecycle() {
+        JfrEvents.LogCall logCall = JfrEvents.NO_OP;
+        logCall.started();
+        logCall.formatted();
+        logCall.finished("logger", VividLevel.INFO, EmojiTheme.CLASSIC, "message");
+
+        JfrEvents.Format format = JfrEvents.NO_OP;
+        format.started();
+        format.finished("INFO", EmojiTheme.CLASSIC, "message");
+
+        JfrEvents.Append append = JfrEvents.NO_OP;
+        append.started();
+        append.formatted();
+        append.finished(null, "CLASSIC", "NONE");
+    }
+
+    private List<RecordedEvent> record(boolean enabled, Runnable action) throws Exception {
+        Path file = tempDir.resolve("vivid.jfr");
+        try (Recording recording = new Recording()) {
+            if (enabled) {
+                Vivid4jJfr.enable(recording, Duration.ZERO);
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        assertThat(matching).hasSize(1);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,164 @@
+package io.github.h3yzack.vivid4jlog.level;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+import ch.qos.logback.core.spi.FilterReply;
+import io.github.h3yzack.vivid4jlog.Vivid4jLogger;
+import io.github.h3yzack.vivid4jlog.config.Vivid4jLogConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Vivid4jLevelTurboFilterTest {
+
+    private static final String NAME = Vivid4jLevelTurboFilterTest.class.getName();
+
+    private final CustomLevelThresholds thresholds = Vivid4jLogConfig.getInstance().getCustomLevelThresholds();
+    private Vivid4jLogger logger;
+    private Logger backing;
+    private ListAppender<ILoggingEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        logger = Vivid4jLogger.create(Vivid4jLevelTurboFilterTest.class);
+        backing = (Logger) logger.unwrap();
+        events = new ListAppender<>();
+        events.setContext(backing.getLoggerContext());
+        events.start();
+        backing.setAdditive(false);
+        backing.addAppender(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        thresholds.setThreshold(VividLevel.SUCCESS, NAME, null);
+        thresholds.setThreshold(VividLevel.COMPLETED, NAME, null);
+        thresholds.setThreshold(VividLevel.COMPLETED, "io.github.h3yzack.vivid4jlog.level", null);
+        backing.detachAppender(events);
+        backing.setAdditive(true);
+        backing.setLevel(null);
+    }
+
+    @Test
+    void testCustomLevelsFollowInfoWithoutThresholds() {
+        backing.setLevel(Level.INFO);
+        assertThat(logger.isSuccessEnabled()).isTrue();
+        assertThat(logger.isCompletedEnabled()).isTrue();
+
+        backing.setLevel(Level.WARN);
+        assertThat(logger.isSuccessEnabled()).isFalse();
+        assertThat(logger.isCompletedEnabled()).isFalse();
+    }
+
+    @Test
+    void testCompletedEnabledWhileInfoIsOff() {
+        backing.setLevel(Level.WARN);
+        thresholds.setThreshold(VividLevel.COMPLETED, NAME, Level.INFO);
+
+        assertThat(logger.isCompletedEnabled()).isTrue();
+        assertThat(logger.isSuccessEnabled()).isFalse();
+
+        logger.info("not logged");
+        logger.success("not logged");
+        logger.completed("job {} finished", 7);
+
+        assertThat(events.list).hasSize(1);
+        assertThat(events.list.get(0).getFormattedMessage()).contains("job 7 finished");
+        assertThat(events.list.get(0).getMarkerList()).containsExactly(VividLevel.COMPLETED.getMarker());
+    }
+
+    @Test
+    void testChildLoggerFollowsCustomLevelThresholds() {
+        backing.setLevel(Level.WARN);
+        thresholds.setThreshold(VividLevel.COMPLETED, NAME, Level.INFO);
+        Vivid4jLogger child = logger.with("job", 7);
+
+        assertThat(child.isCompletedEnabled()).isTrue();
+        child.info("not logged");
+        child.success("not logged");
+        child.completed("child finished");
+        child.batch(VividLevel.COMPLETED).line("batch finished").emit();
+
+        assertThat(events.list).hasSize(2);
+        assertThat(events.list.get(0).getFormattedMessage()).contains("[job=7] child finished");
+        assertThat(events.list.get(1).getFormattedMessage()).contains("[job=7] batch finished");
+        assertThat(events.list).allSatisfy(event ->
+                assertThat(event.getMarkerList()).containsExactly(VividLevel.COMPLETED.getMarker()));
+    }
+
+    @Test
+    void testSuccessDisabledWhileInfoIsOn() {
+        backing.setLevel(Level.INFO);
+        thresholds.setThreshold(VividLevel.SUCCESS, NAME, Level.OFF);
+
+        assertThat(logger.isSuccessEnabled()).isFalse();
+        logger.success("not logged");
+        logger.celebrate("not logged");
+        logger.info("logged");
+
+        assertThat(events.list).hasSize(1);
+    }
+
+    @Test
+    void testCachedDecisionIsInvalidatedOnChange() {
+        backing.setLevel(Level.INFO);
+        assertThat(logger.isSuccessEnabled()).isTrue();
+
+        thresholds.setThreshold(VividLevel.SUCCESS, NAME, Level.ERROR);
+        assertThat(logger.isSuccessEnabled()).isFalse();
+
+        thresholds.setThreshold(VividLevel.SUCCESS, NAME, null);
+        assertThat(logger.isSuccessEnabled()).isTrue();
+    }
+
+    @Test
+    void testThresholdsAreInheritedByChildLoggers() {
+        backing.setLevel(Level.ERROR);
+        thresholds.setThreshold(VividLevel.COMPLETED, "io.github.h3yzack.vivid4jlog.level", Level.DEBUG);
+
+        assertThat(logger.isCompletedEnabled()).isTrue();
+        assertThat(thresholds.decide(VividLevel.COMPLETED, "io.github.h3yzack.vivid4jlog.other"))
+                .isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void testThresholdsFromLogbackXml() throws Exception {
+        String xml = """
+                <configuration>
+                    <turboFilter class="io.github.h3yzack.vivid4jlog.level.Vivid4jLevelTurboFilter">
+                        <completed>xml.jobs=INFO</completed>
+                        <success>xml.jobs=OFF</success>
+                    </turboFilter>
+                    <logger name="xml" level="WARN"/>
+                </configuration>
+                """;
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        try {
+            configurator.doConfigure(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+            Logger jobs = context.getLogger("xml.jobs.Nightly");
+            assertThat(jobs.isInfoEnabled()).isFalse();
+            assertThat(jobs.isInfoEnabled(VividLevel.COMPLETED.getMarker())).isTrue();
+            assertThat(jobs.isInfoEnabled(MarkerFactory.getMarker("SUCCESS"))).isFalse();
+        } finally {
+            thresholds.setThreshold(VividLevel.COMPLETED, "xml.jobs", null);
+            thresholds.setThreshold(VividLevel.SUCCESS, "xml.jobs", null);
+            context.stop();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.h3yzack.vivid4jlog.slf4j;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.h3yzack.vivid4jlog.config.Vivid4jLogConfig;
+import io.github.h3yzack.vivid4jlog.format.TemplateCache;
+import io.github.h3yzack.vivid4jlog.theme.AnsiColors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Vivid4jServiceProviderTest {
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        Vivid4jServiceProvider provider = new Vivid4jServiceProvider();
+        provider.initialize();
+        logger = provider.getLoggerFactory().getLogger("provider.test");
+
+        ch.qos.logback.classic.Logger backing = ((Vivid4jSlf4jLogger) logger).getDelegate();
+        backing.setLevel(Level.INFO);
+        backing.setAdditive(false);
+        events = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                // caller data is computed lazily, so capture it while still on the logging call stack
+                event.getCallerData();
+                super.append(event);
+            }
+        };
+        events.setContext(backing.getLoggerContext());
+        events.start();
+        backing.addAppender(events);
+    }
+
+    @Test
+    void testFactoryCachesLoggers() {
+        Vivid4jServiceProvider provider = new Vivid4jServiceProvider();
+        provider.initialize();
+        assertThat(provider.getLoggerFactory().getLogger("a"))
+                .isSameAs(provider.getLoggerFactory().getLogger("a"))
+                .isInstanceOf(Vivid4jSlf4jLogger.class);
+    }
+
+    @Test
+    void testPlainCallsAreDecorated() {
+        logger.info("order {} accepted", 42);
+        logger.warn("disk at {}%", 91);
+
+        assertThat(events.list).hasSize(2);
+        assertThat(events.list.get(0).getFormattedMessage()).isEqualTo(expected("INFO", "order 42 accepted"));
+        assertThat(events.list.get(1).getFormattedMessage()).isEqualTo(expected("WARN", "disk at 91%"));
+    }
+
+    @Test
+    void testMessagesWithoutArgumentsAreNotCached() {
+        TemplateCache cache = Vivid4jLogConfig.getInstance().getTemplateCache();
+        cache.clear();
+
+        for (int i = 0; i < 10; i++) {
+            logger.info("request " + i + " done");
+        }
+        logger.info("request {} done", 42);
+
+        assertThat(events.list).hasSize(11);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testDisabledLevelsAreSkipped() {
+        logger.debug("hidden {}", 1);
+        logger.trace("hidden");
+
+        assertThat(events.list).isEmpty();
+    }
+
+    @Test
+    void testCustomLevelMarkersPickDecoration() {
+        logger.info(MarkerFactory.getMarker("SUCCESS"), "deployed");
+
+        assertThat(events.list).hasSize(1);
+        assertThat(events.list.get(0).getFormattedMessage()).isEqualTo(expected("SUCCESS", "deployed"));
+    }
+
+    @Test
+    void testFluentApiIsDecoratedWithKeyValues() {
+        logger.atInfo()
+                .addMarker(MarkerFactory.getMarker("COMPLETED"))
+                .addKeyValue("job", "nightly")
+                .setMessage("batch {} done")
+                .addArgument(7)
+                .log();
+        logger.atDebug().log("hidden");
+
+        assertThat(events.list).hasSize(1);
+        ILoggingEvent event = events.list.get(0);
+        assertThat(event.getFormattedMessage()).isEqualTo(expected("COMPLETED", "batch 7 done"));
+        assertThat(event.getKeyValuePairs()).hasSize(1);
+        assertThat(event.getKeyValuePairs().get(0).key).isEqualTo("job");
+    }
+
+    @Test
+    void testCallerDataPointsAtCallSite() {
+        logger.info("where am I");
+        logger.atWarn().log("and now?");
+
+        List<ILoggingEvent> list = events.list;
+        assertThat(list).hasSize(2);
+        for (ILoggingEvent event : list) {
+            assertThat(event.getCallerData()[0].getClassName()).isEqualTo(Vivid4jServiceProviderTest.class.getName());
+        }
+    }
+
+    private static String expected(String level, String msg) {
+        Vivid4jLogConfig config = Vivid4jLogConfig.getInstance();
+        Map<String, String> emojis = config.getDefaultTheme().getEmojiMap();
+        String prefix = config.getCustomPrefix().isEmpty() ? "" : config.getCustomPrefix() + " ";
+        String suffix = config.getCustomSuffix().isEmpty() ? "" : " " + config.getCustomSuffix();
+        String plain = prefix + emojis.get(level) + msg + suffix;
+        return config.isColorEnabled() ? AnsiColors.colorize(plain, AnsiColors.getColorForLevel(level)) : plain;
+    }
+}
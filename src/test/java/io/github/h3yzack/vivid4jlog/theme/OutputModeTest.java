@@ -0,0 +1,143 @@
+package io.github.h3yzack.vivid4jlog.theme;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.h3yzack.vivid4jlog.appender.Vivid4jLogAppender;
+import io.github.h3yzack.vivid4jlog.format.MessageFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OutputModeTest {
+
+    @Test
+    void testAutoDetection() {
+        Charset utf8 = StandardCharsets.UTF_8;
+        assertThat(OutputMode.resolve(false, "xterm-256color", null, null, EmojiTheme.CLASSIC)).isEqualTo(OutputMode.PLAIN);
+        assertThat(OutputMode.resolve(true, "xterm-256color", null, utf8, EmojiTheme.CLASSIC)).isEqualTo(OutputMode.FULL);
+        assertThat(OutputMode.resolve(true, "xterm-256color", "1", utf8, EmojiTheme.CLASSIC)).isEqualTo(OutputMode.EMOJI);
+        assertThat(OutputMode.resolve(true, "xterm-256color", "", utf8, EmojiTheme.CLASSIC)).isEqualTo(OutputMode.FULL);
+        assertThat(OutputMode.resolve(true, "dumb", null, utf8, EmojiTheme.CLASSIC)).isEqualTo(OutputMode.MINIMAL);
+        // neither windows-1252 nor US-ASCII has the MINIMAL check marks
+        assertThat(OutputMode.resolve(true, "xterm", null, Charset.forName("windows-1252"), EmojiTheme.CLASSIC))
+                .isEqualTo(OutputMode.PLAIN);
+        assertThat(OutputMode.resolve(true, "xterm", null, StandardCharsets.US_ASCII, EmojiTheme.NATURE))
+                .isEqualTo(OutputMode.PLAIN);
+        assertThat(OutputMode.isTerminal(null)).isFalse();
+    }
+
+    @Test
+    void testFromString() {
+        assertThat(OutputMode.fromString("auto")).isEqualTo(OutputMode.AUTO);
+        assertThat(OutputMode.fromString(" Plain ")).isEqualTo(OutputMode.PLAIN);
+        assertThat(OutputMode.fromString("unknown")).isNull();
+        assertThat(OutputMode.fromString(null)).isNull();
+    }
+
+    @Test
+    void testAppenderKeepsOutputOnUnknownName() {
+        LoggerContext context = new LoggerContext();
+        try {
+            Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+            vivid.setContext(context);
+            vivid.setOutput("plain");
+            vivid.setOutput("minmal");
+
+            assertThat(vivid.getOutputMode()).isEqualTo(OutputMode.PLAIN);
+            assertThat(context.getStatusManager().getCopyOfStatusList())
+                    .anyMatch(status -> status.getLevel() == ch.qos.logback.core.status.Status.WARN
+                            && status.getMessage().contains("minmal"));
+        } finally {
+            context.stop();
+        }
+    }
+
+    @Test
+    void testFormatterForOutput() {
+        MessageFormatter full = MessageFormatter.of(EmojiTheme.CLASSIC, true, "[app]", "");
+        String info = EmojiTheme.CLASSIC.getEmojiMap().get("INFO");
+
+        assertThat(full.forOutput(OutputMode.FULL)).isSameAs(full);
+        assertThat(full.forOutput(OutputMode.EMOJI).format("INFO", "msg")).isEqualTo("[app] " + info + "msg");
+        assertThat(full.forOutput(OutputMode.MINIMAL).format("INFO", "msg"))
+                .isEqualTo("[app] " + EmojiTheme.MINIMAL.getEmojiMap().get("INFO") + "msg");
+        MessageFormatter plain = full.forOutput(OutputMode.PLAIN);
+        assertThat(plain.format("INFO", "msg")).isEqualTo("[app] msg");
+        assertThat(plain.format("CUSTOM", "msg")).isEqualTo("[app] msg");
+        assertThat(plain.minimal()).isSameAs(plain);
+        assertThat(full.withContext("[job=1] ").forOutput(OutputMode.PLAIN).format("WARN", "msg"))
+                .isEqualTo("[app] [job=1] msg");
+    }
+
+    @Test
+    void testAppenderWritesPlainText() {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        try {
+            ListAppender<ILoggingEvent> sink = new ListAppender<>();
+            sink.setContext(context);
+            sink.start();
+            Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+            vivid.setContext(context);
+            vivid.setOutput("plain");
+            vivid.addAppender(sink);
+            vivid.start();
+            Logger logger = context.getLogger("output.test");
+            logger.setLevel(Level.INFO);
+            logger.setAdditive(false);
+            logger.addAppender(vivid);
+
+            logger.warn("no decoration");
+            // the mode wins over later theme and color changes
+            vivid.setTheme("NATURE");
+            vivid.setColorEnabled(true);
+            logger.warn("still none");
+
+            assertThat(vivid.getOutputMode()).isEqualTo(OutputMode.PLAIN);
+            assertThat(sink.list).extracting(ILoggingEvent::getFormattedMessage)
+                    .containsExactly("no decoration", "still none");
+        } finally {
+            context.stop();
+        }
+    }
+
+    @Test
+    void testMinimalModeSurvivesThemeSetAfterIt() {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        try {
+            ListAppender<ILoggingEvent> sink = new ListAppender<>();
+            sink.setContext(context);
+            sink.start();
+            Vivid4jLogAppender vivid = new Vivid4jLogAppender();
+            vivid.setContext(context);
+            vivid.setOutput("minimal");
+            vivid.setTheme("GAMING");
+            vivid.setColorEnabled(true);
+            vivid.addAppender(sink);
+            vivid.start();
+            Logger logger = context.getLogger("output.test");
+            logger.setLevel(Level.INFO);
+            logger.setAdditive(false);
+            logger.addAppender(vivid);
+
+            logger.info("small");
+            vivid.setTheme("TECH");
+            logger.info("still small");
+
+            String minimal = EmojiTheme.MINIMAL.getEmojiMap().get("INFO");
+            assertThat(sink.list).extracting(ILoggingEvent::getFormattedMessage)
+                    .containsExactly(minimal + "small", minimal + "still small");
+        } finally {
+            context.stop();
+        }
+    }
+}